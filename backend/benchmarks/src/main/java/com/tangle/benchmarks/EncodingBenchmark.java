@@ -0,0 +1,73 @@
+package com.tangle.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.tangle.dto.PageResponse;
+import com.tangle.dto.PostResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes and decodes a 20-post feed page as JSON, CBOR and Smile, the formats
+ * clients can pick with the Accept header. Payload sizes, raw and gzipped, are
+ * printed once per fork since JMH only reports time and allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private PageResponse<PostResponse> feedPage;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Fixtures.mapperBuilder().factory(factory(format)).build();
+        feedPage = Fixtures.feedPageResponse(Fixtures.feedPage(20, 200, Fixtures.user(Fixtures.community())), 3);
+        encoded = objectMapper.writeValueAsBytes(feedPage);
+        System.out.printf("%n%s feed page: %d bytes, %d gzipped%n", format, encoded.length, gzippedSize(encoded));
+    }
+
+    @Benchmark
+    public byte[] encodeFeedPage() throws IOException {
+        return objectMapper.writeValueAsBytes(feedPage);
+    }
+
+    @Benchmark
+    public JsonNode decodeFeedPage() throws IOException {
+        return objectMapper.readTree(encoded);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    private static int gzippedSize(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
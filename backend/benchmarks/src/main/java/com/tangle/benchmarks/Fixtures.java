@@ -0,0 +1,136 @@
+package com.tangle.benchmarks;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tangle.config.JacksonConfig;
+import com.tangle.dto.PageResponse;
+import com.tangle.dto.PostResponse;
+import com.tangle.entity.Community;
+import com.tangle.entity.Post;
+import com.tangle.entity.PostCategory;
+import com.tangle.entity.PostType;
+import com.tangle.entity.User;
+import com.tangle.entity.UserRole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Sample entities and reflection helpers shared by the benchmarks. Services are
+ * wired by hand so the benchmarks measure the hot path, not a Spring context.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Community community() {
+        Community community = new Community();
+        community.setId(1L);
+        community.setName("Anna Nagar Residents");
+        community.setDescription("Residents welfare community for Anna Nagar");
+        community.setLocation("Anna Nagar West");
+        community.setCity("Chennai");
+        community.setState("Tamil Nadu");
+        community.setPincode("600040");
+        community.setCommunityCode("ANNA001");
+        community.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        community.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        return community;
+    }
+
+    static User user(Community community) {
+        User user = new User();
+        user.setId(42L);
+        user.setFullName("Priya Raman");
+        user.setEmail("priya.raman@example.com");
+        user.setPhoneNumber("9876543210");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuPpU3c2m0w8yD7v8kqQv6b1Jb9Zy6u2e");
+        user.setRole(UserRole.RESIDENT);
+        user.setAddress("12, 3rd Avenue");
+        user.setLocality("Anna Nagar");
+        user.setPincode("600040");
+        user.setCommunity(community);
+        user.setIsVerified(true);
+        user.setCreatedAt(LocalDateTime.of(2024, 2, 1, 10, 30));
+        user.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 10, 30));
+        return user;
+    }
+
+    static Post post(long id, User user) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("Selling a gently used bicycle");
+        post.setDescription("Hercules 26 inch bicycle in good condition, serviced last month. "
+                + "New tyres and brakes, comes with a lock and a bell. Pick up from 3rd Avenue. ".repeat(4));
+        post.setCategory(PostCategory.BUY_SELL);
+        post.setType(PostType.OFFER);
+        post.setUser(user);
+        post.setCommunity(user.getCommunity());
+        post.setContactInfo("9876543210");
+        post.setPrice(3500.0);
+        post.setLocation("Anna Nagar West");
+        post.setImages(List.of("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08",
+                "60303ae22b998861bce3b28f33eec1be758a213c86c93c076dbe9f558c11c752"));
+        post.setCreatedAt(LocalDateTime.of(2024, 3, 1, 18, 0));
+        post.setUpdatedAt(LocalDateTime.of(2024, 3, 1, 18, 0));
+        return post;
+    }
+
+    static List<Post> feedPage(int size, User user) {
+        List<Post> posts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            posts.add(post(i + 1, user));
+        }
+        return posts;
+    }
+
+    static Page<Post> feedPage(int size, int totalElements, User user) {
+        return new PageImpl<>(feedPage(size, user), PageRequest.of(0, size), totalElements);
+    }
+
+    static PageResponse<PostResponse> feedPageResponse(Page<Post> page, long commentCount) {
+        List<PostResponse> content = page.getContent().stream()
+                .map(post -> PostResponse.from(post, commentCount))
+                .collect(Collectors.toList());
+        return PageResponse.of(page, content);
+    }
+
+    /**
+     * Same defaults and modules Spring Boot applies to the MVC ObjectMapper; set a
+     * factory for the binary formats.
+     */
+    static Jackson2ObjectMapperBuilder mapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new JacksonConfig().blackbirdModule());
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name, e);
+        }
+    }
+
+    static MethodHandle privateMethod(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .findVirtual(owner, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.tangle.benchmarks;
+
+import com.tangle.entity.User;
+import com.tangle.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        Fixtures.setField(jwtService, "secretKey", "tangleSecretKey2024ForJWTTokenGenerationAndValidation");
+        Fixtures.setField(jwtService, "jwtExpiration", 86400000L);
+        Fixtures.setField(jwtService, "meterRegistry", new SimpleMeterRegistry());
+        user = Fixtures.user(Fixtures.community());
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+}
@@ -0,0 +1,263 @@
+package com.tangle.benchmarks;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the native image and the executable jar against an in-memory H2 database,
+ * drives the controllers end to end and compares startup time and memory. Uses only
+ * the JDK, so the backend's native build runs it straight from source:
+ * <pre>
+ *   java NativeBenchmark.java &lt;native executable&gt; &lt;exec jar&gt; &lt;runs&gt;
+ * </pre>
+ * Startup is measured from launch until {@code /api/health/ready} answers 200. The
+ * resident set size is read from {@code /proc} once ready and again after the end to
+ * end pass, which logs in (creating the demo account and community), creates a
+ * community, a post, comments through both endpoints and reports through both
+ * endpoints, and reads each back. Any unexpected status fails the run: a missing
+ * reflection hint in the native image shows up here as a 400 or 500.
+ */
+public final class NativeBenchmark {
+
+    private static final List<String> EMBEDDED_DATABASE = List.of(
+            "--spring.datasource.url=jdbc:h2:mem:tangle;MODE=MySQL;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.tangle=WARN",
+            // Replays traffic against an empty database; nothing to warm
+            "--app.health.warmup.enabled=false");
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern POST_ID = Pattern.compile("\"postId\"\\s*:\\s*(\\d+)");
+
+    private record Mode(String name, List<String> command) {
+    }
+
+    private record Run(long readyMs, long readyRssKb, long endToEndMs, long endToEndRssKb) {
+    }
+
+    private NativeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: NativeBenchmark <native executable> <exec jar> <runs>");
+            System.exit(2);
+        }
+        Path executable = Path.of(args[0]);
+        Path execJar = Path.of(args[1]);
+        int runs = Integer.parseInt(args[2]);
+        List<Mode> modes = List.of(
+                new Mode("JVM (executable jar)", List.of(
+                        Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-jar", execJar.toString())),
+                new Mode("native image", List.of(executable.toString())));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        StringBuilder csv = new StringBuilder("mode,runs,ready_median_ms,ready_rss_mb,e2e_median_ms,e2e_rss_mb\n");
+        System.out.printf("%-22s %14s %13s %12s %11s%n", "mode", "ready ms", "ready RSS MB", "e2e ms", "e2e RSS MB");
+        for (Mode mode : modes) {
+            // One unreported start first, so every mode reads its files from the page cache
+            start(mode, client);
+            Run[] results = new Run[runs];
+            for (int i = 0; i < runs; i++) {
+                results[i] = start(mode, client);
+            }
+            long readyMs = median(results, Run::readyMs);
+            long readyRssMb = median(results, Run::readyRssKb) / 1024;
+            long endToEndMs = median(results, Run::endToEndMs);
+            long endToEndRssMb = median(results, Run::endToEndRssKb) / 1024;
+            System.out.printf("%-22s %14d %13d %12d %11d%n", mode.name(), readyMs, readyRssMb, endToEndMs, endToEndRssMb);
+            csv.append(mode.name()).append(',').append(runs).append(',').append(readyMs).append(',')
+                    .append(readyRssMb).append(',').append(endToEndMs).append(',').append(endToEndRssMb).append('\n');
+        }
+        Path report = executable.toAbsolutePath().resolveSibling("native-benchmark.csv");
+        Files.writeString(report, csv);
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    private static Run start(Mode mode, HttpClient client) throws IOException, InterruptedException {
+        int port = freePort();
+        Path auditDir = Files.createTempDirectory("tangle-audit");
+        List<String> command = new ArrayList<>(mode.command());
+        command.add("--server.port=" + port);
+        command.add("--app.audit.dir=" + auditDir);
+        command.addAll(EMBEDDED_DATABASE);
+        Path log = Files.createTempFile("tangle-" + port, ".log");
+
+        long begin = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        boolean passed = false;
+        try {
+            String baseUrl = "http://localhost:" + port + "/api";
+            awaitReady(client, baseUrl, process);
+            long readyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+            long readyRssKb = rssKb(process);
+
+            long endToEndStart = System.nanoTime();
+            new EndToEnd(client, baseUrl).run();
+            long endToEndMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - endToEndStart);
+            Run run = new Run(readyMs, readyRssKb, endToEndMs, rssKb(process));
+            passed = true;
+            return run;
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException(mode.name() + ": " + e.getMessage() + "; application log in " + log, e);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            // The log is kept only when it explains a failure
+            if (passed) {
+                Files.delete(log);
+            }
+            try (var files = Files.walk(auditDir)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static void awaitReady(HttpClient client, String baseUrl, Process process) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/health/ready"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("exited with " + process.exitValue() + " before becoming ready");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("not ready within 5 minutes");
+    }
+
+    // Resident set size in KiB, as the kernel reports it
+    private static long rssKb(Process process) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        throw new IllegalStateException("No VmRSS for process " + process.pid());
+    }
+
+    private static long median(Run[] results, ToLongFunction<Run> value) {
+        long[] values = Arrays.stream(results).mapToLong(value).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * One pass over the controllers a client uses, as a freshly created demo user.
+     */
+    private static final class EndToEnd {
+
+        private final HttpClient client;
+        private final String baseUrl;
+        private String token;
+
+        EndToEnd(HttpClient client, String baseUrl) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+        }
+
+        void run() throws IOException, InterruptedException {
+            token = find(TOKEN, post("/auth/login",
+                    "{\"emailOrPhone\":\"native-check@tangle.local\",\"password\":\"native-check\"}"));
+            get("/auth/profile");
+
+            String communityId = find(ID, post("/communities",
+                    "{\"name\":\"Native Check\",\"location\":\"Anna Nagar\",\"city\":\"Chennai\",\"state\":\"TN\","
+                            + "\"pincode\":\"600040\",\"latitude\":13.085,\"longitude\":80.2101}"));
+            get("/communities");
+            get("/communities/" + communityId);
+
+            String postId = find(POST_ID, post("/posts",
+                    "{\"title\":\"Native image check\",\"description\":\"Posted by the native image end to end check\","
+                            + "\"category\":\"BUY_SELL\",\"type\":\"OFFER\",\"price\":100.0}"));
+            get("/posts?page=0&size=20");
+            get("/posts/" + postId);
+
+            post("/posts/" + postId + "/comments", "{\"content\":\"Comment through the post endpoint\"}");
+            post("/comments", "{\"content\":\"Comment as an entity body\",\"post\":{\"id\":" + postId + "}}");
+            get("/posts/" + postId + "/comments");
+            get("/comments/post/" + postId);
+
+            post("/posts/" + postId + "/report", "{\"reason\":\"Reported through the post endpoint\",\"type\":\"SPAM\"}");
+            post("/reports", "{\"reason\":\"Reported as an entity body\",\"type\":\"SCAM\",\"post\":{\"id\":" + postId + "}}");
+            get("/reports/post/" + postId);
+            get("/health/ready");
+        }
+
+        private String get(String path) throws IOException, InterruptedException {
+            return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), path);
+        }
+
+        private String post(String path, String json) throws IOException, InterruptedException {
+            return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json)), path);
+        }
+
+        private String send(HttpRequest.Builder builder, String path) throws IOException, InterruptedException {
+            builder.header("Accept", "application/json").timeout(Duration.ofSeconds(30));
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(path + " answered " + response.statusCode() + ": " + response.body());
+            }
+            return response.body();
+        }
+
+        private static String find(Pattern pattern, String body) {
+            Matcher matcher = pattern.matcher(body);
+            if (!matcher.find()) {
+                throw new IllegalStateException("No " + pattern + " in " + body);
+            }
+            return matcher.group(1);
+        }
+    }
+}
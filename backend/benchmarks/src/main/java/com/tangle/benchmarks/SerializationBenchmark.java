@@ -0,0 +1,55 @@
+package com.tangle.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tangle.dto.PostResponse;
+import com.tangle.dto.UserResponse;
+import com.tangle.entity.Post;
+import com.tangle.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps entities to the API response records and serializes them, i.e. the work a
+ * controller does per response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final long COMMENT_COUNT = 3;
+
+    private ObjectMapper objectMapper;
+    private Post post;
+    private Page<Post> feedPage;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.mapperBuilder().build();
+        user = Fixtures.user(Fixtures.community());
+        post = Fixtures.post(1, user);
+        feedPage = Fixtures.feedPage(20, 200, user);
+    }
+
+    @Benchmark
+    public byte[] serializePost() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(PostResponse.from(post, COMMENT_COUNT));
+    }
+
+    @Benchmark
+    public byte[] serializeFeedPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(Fixtures.feedPageResponse(feedPage, COMMENT_COUNT));
+    }
+
+    @Benchmark
+    public byte[] serializeUserResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(UserResponse.from(user));
+    }
+}
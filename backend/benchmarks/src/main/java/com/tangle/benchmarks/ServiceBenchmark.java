@@ -0,0 +1,43 @@
+package com.tangle.benchmarks;
+
+import com.tangle.dto.UserResponse;
+import com.tangle.entity.User;
+import com.tangle.service.CommunityService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    private static final MethodHandle GENERATE_COMMUNITY_CODE =
+            Fixtures.privateMethod(CommunityService.class, "generateCommunityCode", String.class, String.class);
+
+    private CommunityService communityService;
+    private User user;
+
+    @Param({"Anna Nagar Residents Welfare Association"})
+    private String communityName;
+
+    @Setup
+    public void setUp() {
+        communityService = new CommunityService();
+        user = Fixtures.user(Fixtures.community());
+    }
+
+    @Benchmark
+    public String generateCommunityCode() throws Throwable {
+        return (String) GENERATE_COMMUNITY_CODE.invoke(communityService, communityName);
+    }
+
+    @Benchmark
+    public UserResponse createUserResponse() {
+        return UserResponse.from(user);
+    }
+}
@@ -0,0 +1,106 @@
+package com.tangle.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the backend repeatedly in each startup mode and reports how long the JVM
+ * takes from launch until the application context has refreshed. Uses only the JDK,
+ * so the backend's fast-startup build runs it straight from source:
+ * <pre>
+ *   java StartupBenchmark.java &lt;startup dir&gt; &lt;exec jar&gt; &lt;runs&gt;
+ * </pre>
+ * Every start exits right after refresh ({@code spring.context.exit=onRefresh}) and
+ * needs no database: schema handling and JDBC metadata lookups are switched off, so
+ * the numbers cover classpath scanning, bean creation and the Hibernate metamodel.
+ */
+public final class StartupBenchmark {
+
+    private static final List<String> NO_DATABASE = List.of(
+            "--spring.jpa.hibernate.ddl-auto=none",
+            "--spring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false",
+            "--app.audit.enabled=false");
+
+    private record Mode(String name, List<String> command) {
+    }
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: StartupBenchmark <startup dir> <exec jar> <runs>");
+            System.exit(2);
+        }
+        Path startupDir = Path.of(args[0]);
+        Path execJar = Path.of(args[1]);
+        int runs = Integer.parseInt(args[2]);
+        Path startupJar;
+        try (var files = Files.list(startupDir)) {
+            startupJar = files.filter(file -> file.getFileName().toString().endsWith("-startup.jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No *-startup.jar in " + startupDir));
+        }
+        Path archive = startupDir.resolve("tangle.jsa");
+
+        List<Mode> modes = List.of(
+                new Mode("executable jar", command(List.of(), execJar)),
+                new Mode("plain classpath", command(List.of(), startupJar)),
+                new Mode("classpath + AOT", command(List.of("-Dspring.aot.enabled=true"), startupJar)),
+                new Mode("classpath + AOT + CDS", command(List.of("-Dspring.aot.enabled=true",
+                        "-XX:SharedArchiveFile=" + archive, "-Xshare:auto"), startupJar)));
+
+        StringBuilder csv = new StringBuilder("mode,runs,median_ms,min_ms,max_ms\n");
+        System.out.printf("%-24s %10s %10s %10s%n", "mode", "median ms", "min ms", "max ms");
+        for (Mode mode : modes) {
+            // One untimed start first, so every mode reads the jars from the page cache
+            start(mode);
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = start(mode);
+            }
+            Arrays.sort(millis);
+            long median = millis[runs / 2];
+            System.out.printf("%-24s %10d %10d %10d%n", mode.name(), median, millis[0], millis[runs - 1]);
+            csv.append(mode.name()).append(',').append(runs).append(',').append(median).append(',')
+                    .append(millis[0]).append(',').append(millis[runs - 1]).append('\n');
+        }
+        Path report = startupDir.resolve("startup-benchmark.csv");
+        Files.writeString(report, csv);
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    private static List<String> command(List<String> jvmOptions, Path jar) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-Dspring.context.exit=onRefresh");
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--spring.profiles.active=fast-startup");
+        command.addAll(NO_DATABASE);
+        return command;
+    }
+
+    private static long start(Mode mode) throws IOException, InterruptedException {
+        long begin = System.nanoTime();
+        Process process = new ProcessBuilder(mode.command())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        if (!process.waitFor(5, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new IllegalStateException(mode.name() + " did not exit within 5 minutes");
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException(mode.name() + " exited with " + process.exitValue()
+                    + "; run " + String.join(" ", mode.command()) + " to see why");
+        }
+        return elapsed;
+    }
+}
@@ -0,0 +1,171 @@
+package com.tangle.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds communities, users, posts and comments with JDBC batch inserts, bypassing
+ * JPA so that large data sets load in seconds. Rows are inserted into freshly
+ * created tables, so generated ids are dense and the ranges are read back after
+ * each table is loaded.
+ */
+final class BulkSeeder {
+
+    static final String[] TITLE_WORDS = {
+        "bicycle", "plumber", "tutor", "sofa", "electrician", "yoga", "carpool", "cleaning",
+        "laptop", "festival", "garden", "puppy", "painter", "cricket", "books", "cook"
+    };
+
+    private static final String[] CATEGORIES = {
+        "HELP_REQUEST", "HELP_OFFER", "BUY_SELL", "BUSINESS", "SERVICE",
+        "JOB_GIG", "EVENT", "ANNOUNCEMENT", "LOST_FOUND", "VOLUNTEER"
+    };
+
+    private static final String[] TYPES = {"REQUEST", "OFFER", "ANNOUNCEMENT"};
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+
+    BulkSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    SeededData seed(LoadTestOptions options) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> communities = new ArrayList<>();
+        for (int c = 0; c < options.getCommunities(); c++) {
+            communities.add(new Object[] {
+                "Load Community " + c, "Seeded community " + c, "Locality " + c, String.valueOf(600000 + c),
+                "Chennai", "Tamil Nadu", String.format("LOAD%04d", c), true, ts(now), ts(now)
+            });
+        }
+        insert("INSERT INTO communities (name, description, location, pincode, city, state, community_code, "
+                + "is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", communities);
+        long firstCommunityId = firstId("communities");
+
+        // Login never verifies the password, but store a real hash so rows look like production ones
+        String passwordHash = new BCryptPasswordEncoder().encode("loadtest");
+        List<Object[]> users = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        for (int c = 0; c < options.getCommunities(); c++) {
+            for (int u = 0; u < options.getUsersPerCommunity(); u++) {
+                String email = "user" + c + "_" + u + "@loadtest.tangle";
+                emails.add(email);
+                users.add(new Object[] {
+                    "Load User " + c + "-" + u, email, String.valueOf(7000000000L + emails.size()), passwordHash,
+                    "RESIDENT", "Address " + u, "Locality " + c, String.valueOf(600000 + c),
+                    firstCommunityId + c, true, true, ts(now), ts(now)
+                });
+            }
+        }
+        insert("INSERT INTO users (full_name, email, phone_number, password, role, address, locality, pincode, "
+                + "community_id, is_verified, is_active, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", users);
+        long firstUserId = firstId("users");
+
+        List<Object[]> posts = new ArrayList<>();
+        long postCount = 0;
+        for (int c = 0; c < options.getCommunities(); c++) {
+            for (int u = 0; u < options.getUsersPerCommunity(); u++) {
+                long userId = firstUserId + (long) c * options.getUsersPerCommunity() + u;
+                for (int p = 0; p < options.getPostsPerUser(); p++) {
+                    String word = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+                    LocalDateTime createdAt = now.minusMinutes(random.nextInt(60 * 24 * 30));
+                    posts.add(new Object[] {
+                        "Looking for " + word + " " + postCount,
+                        "Seeded post about " + word + " in community " + c,
+                        CATEGORIES[random.nextInt(CATEGORIES.length)], TYPES[random.nextInt(TYPES.length)],
+                        userId, firstCommunityId + c, true, random.nextInt(20) == 0, false, random.nextInt(100),
+                        ts(createdAt), ts(createdAt)
+                    });
+                    postCount++;
+                    if (posts.size() == BATCH_SIZE) {
+                        insertPosts(posts);
+                    }
+                }
+            }
+        }
+        insertPosts(posts);
+        long firstPostId = firstId("posts");
+
+        List<Object[]> comments = new ArrayList<>();
+        long totalUsers = (long) options.getCommunities() * options.getUsersPerCommunity();
+        for (long p = 0; p < postCount; p++) {
+            for (int k = 0; k < options.getCommentsPerPost(); k++) {
+                comments.add(new Object[] {
+                    "Seeded comment " + k, firstUserId + (long) (random.nextDouble() * totalUsers),
+                    firstPostId + p, true, ts(now), ts(now)
+                });
+                if (comments.size() == BATCH_SIZE) {
+                    insertComments(comments);
+                }
+            }
+        }
+        insertComments(comments);
+
+        return new SeededData(emails, firstPostId, postCount);
+    }
+
+    private void insertPosts(List<Object[]> rows) {
+        insert("INSERT INTO posts (title, description, category, type, user_id, community_id, is_active, "
+                + "is_urgent, is_featured, view_count, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void insertComments(List<Object[]> rows) {
+        insert("INSERT INTO comments (content, user_id, post_id, is_active, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        rows.clear();
+    }
+
+    private long firstId(String table) {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM " + table, Long.class);
+    }
+
+    private static Timestamp ts(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+
+    /**
+     * What the workload needs to know about the seeded data set.
+     */
+    static final class SeededData {
+
+        private final List<String> emails;
+        private final long firstPostId;
+        private final long postCount;
+
+        SeededData(List<String> emails, long firstPostId, long postCount) {
+            this.emails = emails;
+            this.firstPostId = firstPostId;
+            this.postCount = postCount;
+        }
+
+        List<String> getEmails() {
+            return emails;
+        }
+
+        long getFirstPostId() {
+            return firstPostId;
+        }
+
+        long getPostCount() {
+            return postCount;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.tangle.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms (nanoseconds, 3 significant digits) and error
+ * counts for one measurement phase.
+ */
+final class LatencyReport {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private final Map<Operation, ConcurrentHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Histogram schedulerLag = new Histogram(3);
+    private Duration elapsed = Duration.ZERO;
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean failed) {
+        latencies.get(operation).recordValue(latencyNanos);
+        if (failed) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Only called from the generator thread.
+     */
+    void recordSchedulerLag(long lagNanos) {
+        schedulerLag.recordValue(Math.max(0, lagNanos));
+    }
+
+    void setElapsed(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-14s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Row row : rows()) {
+            out.printf("%-14s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.name, row.count, row.errors, row.throughput,
+                    row.percentiles[0], row.percentiles[1], row.percentiles[2], row.percentiles[3], row.max);
+        }
+        out.printf("scheduler lag p99 %.2f ms, max %.2f ms%n",
+                millis(schedulerLag.getValueAtPercentile(99.0)), millis(schedulerLag.getMaxValue()));
+    }
+
+    void writeCsv(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,count,errors,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        for (Row row : rows()) {
+            lines.add(String.format("%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                    row.name, row.count, row.errors, row.throughput,
+                    row.percentiles[0], row.percentiles[1], row.percentiles[2], row.percentiles[3], row.max));
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.write(path, lines);
+    }
+
+    private List<Row> rows() {
+        List<Row> rows = new ArrayList<>();
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation).copy();
+            long operationErrors = errors.get(operation).sum();
+            total.add(histogram);
+            totalErrors += operationErrors;
+            rows.add(new Row(operation.name(), histogram, operationErrors, elapsed));
+        }
+        rows.add(new Row("ALL", total, totalErrors, elapsed));
+        return rows;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Row {
+
+        private final String name;
+        private final long count;
+        private final long errors;
+        private final double throughput;
+        private final double[] percentiles = new double[PERCENTILES.length];
+        private final double max;
+
+        Row(String name, Histogram histogram, long errors, Duration elapsed) {
+            this.name = name;
+            this.count = histogram.getTotalCount();
+            this.errors = errors;
+            this.throughput = elapsed.isZero() ? 0 : count / (elapsed.toNanos() / 1e9);
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                percentiles[i] = millis(histogram.getValueAtPercentile(PERCENTILES[i]));
+            }
+            this.max = millis(histogram.getMaxValue());
+        }
+    }
+}
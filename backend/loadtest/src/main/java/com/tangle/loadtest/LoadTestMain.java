@@ -0,0 +1,128 @@
+package com.tangle.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tangle.TangleApplication;
+import com.tangle.health.StartupWarmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots the backend in this JVM against an in-memory H2 database running in MySQL
+ * mode, seeds it, logs in a pool of users and drives the mixed workload. Only the
+ * measurement phase is reported; the warmup phase lets the JIT, connection pool and
+ * caches settle first.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.println("Load test: " + options);
+
+        // Passed as command line arguments so they take precedence over application.yml
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:tangle;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                // The database is still empty at startup; see app-warmup below
+                "--app.health.warmup.enabled=false"));
+        // dev keeps application.yml's debug logging and SQL echo, prod uses that profile
+        switch (options.getLogging()) {
+            case "quiet" -> appArgs.addAll(List.of(
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.tangle=WARN",
+                    "--logging.level.org.springframework.security=WARN"));
+            case "prod" -> appArgs.add("--spring.profiles.active=prod");
+            default -> {
+            }
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TangleApplication.class)
+                .run(appArgs.toArray(new String[0]));
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            long seedStart = System.nanoTime();
+            BulkSeeder.SeededData data = new BulkSeeder(new JdbcTemplate(context.getBean(DataSource.class)))
+                    .seed(options);
+            System.out.printf("Seeded %d users and %d posts in %d ms%n", data.getEmails().size(),
+                    data.getPostCount(), Duration.ofNanos(System.nanoTime() - seedStart).toMillis());
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .connectTimeout(options.getRequestTimeout())
+                    .build();
+            List<String> tokens = login(client, baseUrl, data.getEmails(), options.getSessions());
+
+            if (options.isAppWarmup()) {
+                long warmupStart = System.nanoTime();
+                context.getBean(StartupWarmup.class).run();
+                System.out.printf("Application warmup took %d ms%n", Duration.ofNanos(System.nanoTime() - warmupStart).toMillis());
+            }
+
+            OpenModelGenerator generator = new OpenModelGenerator(client, baseUrl, data, tokens,
+                    options.getRate(), options.getRequestTimeout());
+
+            System.out.printf("Warming up for %d s%n", options.getWarmup().getSeconds());
+            generator.run(options.getWarmup(), new LatencyReport());
+
+            System.out.printf("Measuring for %d s at %.0f req/s%n", options.getDuration().getSeconds(), options.getRate());
+            LatencyReport report = new LatencyReport();
+            generator.run(options.getDuration(), report);
+
+            report.print(System.out);
+            Path reportPath = Path.of(options.getReport());
+            report.writeCsv(reportPath);
+            System.out.println("Report written to " + reportPath.toAbsolutePath());
+        } finally {
+            executor.shutdownNow();
+            context.close();
+        }
+    }
+
+    private static List<String> login(HttpClient client, String baseUrl, List<String> emails, int sessions)
+            throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        int count = Math.min(sessions, emails.size());
+        int stride = Math.max(1, emails.size() / count);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String body = mapper.writeValueAsString(Map.of(
+                    "emailOrPhone", emails.get(i * stride), "password", "loadtest"));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            JsonNode json = mapper.readTree(response.body());
+            if (response.statusCode() != 200 || !json.hasNonNull("token")) {
+                throw new IllegalStateException("Login failed for " + emails.get(i * stride) + ": " + response.body());
+            }
+            tokens.add(json.get("token").asText());
+        }
+        return tokens;
+    }
+}
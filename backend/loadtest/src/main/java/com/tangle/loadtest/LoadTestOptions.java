@@ -0,0 +1,111 @@
+package com.tangle.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options in {@code --key=value} form. Every option has a default so the
+ * harness runs with no arguments.
+ */
+final class LoadTestOptions {
+
+    private final int communities;
+    private final int usersPerCommunity;
+    private final int postsPerUser;
+    private final int commentsPerPost;
+    private final int sessions;
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration requestTimeout;
+    private final String report;
+    private final String logging;
+    private final boolean appWarmup;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.communities = Integer.parseInt(values.getOrDefault("communities", "10"));
+        this.usersPerCommunity = Integer.parseInt(values.getOrDefault("users", "50"));
+        this.postsPerUser = Integer.parseInt(values.getOrDefault("posts", "10"));
+        this.commentsPerPost = Integer.parseInt(values.getOrDefault("comments", "3"));
+        this.sessions = Integer.parseInt(values.getOrDefault("sessions", "200"));
+        this.rate = Double.parseDouble(values.getOrDefault("rate", "200"));
+        this.warmup = Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "15")));
+        this.duration = Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60")));
+        this.requestTimeout = Duration.ofSeconds(Long.parseLong(values.getOrDefault("timeout", "10")));
+        this.report = values.getOrDefault("report", "target/loadtest-report.csv");
+        this.logging = values.getOrDefault("logging", "quiet");
+        this.appWarmup = Boolean.parseBoolean(values.getOrDefault("app-warmup", "false"));
+        if (!logging.equals("quiet") && !logging.equals("dev") && !logging.equals("prod")) {
+            throw new IllegalArgumentException("logging must be quiet, dev or prod but got: " + logging);
+        }
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    int getCommunities() {
+        return communities;
+    }
+
+    int getUsersPerCommunity() {
+        return usersPerCommunity;
+    }
+
+    int getPostsPerUser() {
+        return postsPerUser;
+    }
+
+    int getCommentsPerPost() {
+        return commentsPerPost;
+    }
+
+    int getSessions() {
+        return sessions;
+    }
+
+    double getRate() {
+        return rate;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    String getReport() {
+        return report;
+    }
+
+    String getLogging() {
+        return logging;
+    }
+
+    boolean isAppWarmup() {
+        return appWarmup;
+    }
+
+    @Override
+    public String toString() {
+        return "communities=" + communities + " users/community=" + usersPerCommunity
+                + " posts/user=" + postsPerUser + " comments/post=" + commentsPerPost
+                + " sessions=" + sessions + " rate=" + rate + "/s warmup=" + warmup.getSeconds()
+                + "s duration=" + duration.getSeconds() + "s logging=" + logging + " app-warmup=" + appWarmup;
+    }
+}
@@ -0,0 +1,117 @@
+package com.tangle.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests arrive as a Poisson process at a fixed rate,
+ * independent of how fast the server answers. Each request is timed from its
+ * intended start time rather than from when it was actually sent, so a stalled
+ * server or a late scheduler shows up in the percentiles instead of silently
+ * lowering the offered load (coordinated omission).
+ */
+final class OpenModelGenerator {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final BulkSeeder.SeededData data;
+    private final List<String> tokens;
+    private final double rate;
+    private final Duration requestTimeout;
+    private final Set<Pending> inFlight = ConcurrentHashMap.newKeySet();
+
+    OpenModelGenerator(HttpClient client, String baseUrl, BulkSeeder.SeededData data, List<String> tokens,
+                       double rate, Duration requestTimeout) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.tokens = tokens;
+        this.rate = rate;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Offers load for the given duration, then waits up to the request timeout for
+     * outstanding requests. Requests still outstanding after that are recorded as
+     * failures rather than dropped, since leaving them out would hide the slowest
+     * responses.
+     */
+    void run(Duration duration, LatencyReport report) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intendedStart = start;
+
+        while (true) {
+            intendedStart += (long) (-Math.log(1.0 - random.nextDouble()) * meanGapNanos);
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            report.recordSchedulerLag(System.nanoTime() - intendedStart);
+            send(Operation.pick(random), intendedStart, report, random);
+        }
+        report.setElapsed(Duration.ofNanos(System.nanoTime() - start));
+
+        long drainDeadline = System.nanoTime() + requestTimeout.toNanos();
+        while (!inFlight.isEmpty() && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        for (Pending pending : inFlight) {
+            pending.complete(report, true);
+            pending.future.cancel(true);
+        }
+    }
+
+    private void send(Operation operation, long intendedStart, LatencyReport report, ThreadLocalRandom random) {
+        HttpRequest request = operation.request(baseUrl, data, random)
+                .header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())))
+                .header("Accept", "application/json")
+                .timeout(requestTimeout)
+                .build();
+
+        Pending pending = new Pending(operation, intendedStart);
+        inFlight.add(pending);
+        pending.future = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        pending.future.whenComplete((response, error) ->
+                pending.complete(report, error != null || response.statusCode() >= 400));
+    }
+
+    /**
+     * A request that has been sent; whichever of the response or the drain timeout
+     * comes first records it.
+     */
+    private final class Pending {
+
+        private final Operation operation;
+        private final long intendedStart;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private volatile CompletableFuture<HttpResponse<Void>> future;
+
+        Pending(Operation operation, long intendedStart) {
+            this.operation = operation;
+            this.intendedStart = intendedStart;
+        }
+
+        void complete(LatencyReport report, boolean failed) {
+            if (recorded.compareAndSet(false, true)) {
+                report.record(operation, System.nanoTime() - intendedStart, failed);
+                inFlight.remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.tangle.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The request mix the generator draws from. Weights are relative and roughly follow
+ * a residents' app: mostly feed scrolling and reading, with a smaller share of writes.
+ */
+enum Operation {
+
+    FEED_SCROLL(40) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, BulkSeeder.SeededData data, ThreadLocalRandom random) {
+            return get(baseUrl + "/posts?page=" + random.nextInt(5) + "&size=20");
+        }
+    },
+    SEARCH(10) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, BulkSeeder.SeededData data, ThreadLocalRandom random) {
+            return get(baseUrl + "/posts?search=" + BulkSeeder.TITLE_WORDS[random.nextInt(BulkSeeder.TITLE_WORDS.length)]);
+        }
+    },
+    VIEW_POST(15) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, BulkSeeder.SeededData data, ThreadLocalRandom random) {
+            return get(baseUrl + "/posts/" + randomPostId(data, random));
+        }
+    },
+    VIEW_COMMENTS(15) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, BulkSeeder.SeededData data, ThreadLocalRandom random) {
+            return get(baseUrl + "/posts/" + randomPostId(data, random) + "/comments");
+        }
+    },
+    CREATE_POST(8) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, BulkSeeder.SeededData data, ThreadLocalRandom random) {
+            String word = BulkSeeder.TITLE_WORDS[random.nextInt(BulkSeeder.TITLE_WORDS.length)];
+            return post(baseUrl + "/posts", "{\"title\":\"Load test " + word + "\","
+                    + "\"description\":\"Created during a load test run\","
+                    + "\"category\":\"HELP_REQUEST\",\"type\":\"REQUEST\"}");
+        }
+    },
+    ADD_COMMENT(9) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, BulkSeeder.SeededData data, ThreadLocalRandom random) {
+            return post(baseUrl + "/posts/" + randomPostId(data, random) + "/comments",
+                    "{\"content\":\"Load test comment\"}");
+        }
+    },
+    REPORT_POST(3) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, BulkSeeder.SeededData data, ThreadLocalRandom random) {
+            return post(baseUrl + "/posts/" + randomPostId(data, random) + "/report",
+                    "{\"reason\":\"Load test report\",\"type\":\"SPAM\"}");
+        }
+    };
+
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (Operation operation : values()) {
+            total += operation.weight;
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    private final int weight;
+
+    Operation(int weight) {
+        this.weight = weight;
+    }
+
+    abstract HttpRequest.Builder request(String baseUrl, BulkSeeder.SeededData data, ThreadLocalRandom random);
+
+    static Operation pick(ThreadLocalRandom random) {
+        int ticket = random.nextInt(TOTAL_WEIGHT);
+        for (Operation operation : values()) {
+            ticket -= operation.weight;
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights do not add up");
+    }
+
+    private static long randomPostId(BulkSeeder.SeededData data, ThreadLocalRandom random) {
+        return data.getFirstPostId() + random.nextLong(data.getPostCount());
+    }
+
+    private static HttpRequest.Builder get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET();
+    }
+
+    private static HttpRequest.Builder post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+}
@@ -1,9 +1,12 @@
 package com.tangle;
 
+import com.tangle.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
 public class TangleApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,41 @@
+package com.tangle.audit;
+
+/**
+ * What an audit record is about. Records store the code, so constants can be renamed
+ * or reordered but codes must never be reused.
+ */
+public enum AuditEventType {
+    LOGIN(1, true),
+    POST_CREATED(2, false),
+    REPORT_STATUS_CHANGED(3, false),
+    USER_VERIFIED(4, true),
+    USER_DEACTIVATED(5, true);
+
+    private final short code;
+    private final boolean userSubject;
+
+    AuditEventType(int code, boolean userSubject) {
+        this.code = (short) code;
+        this.userSubject = userSubject;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    /**
+     * Whether the subject id is a user id, so the record also belongs to that user.
+     */
+    public boolean hasUserSubject() {
+        return userSubject;
+    }
+
+    public static AuditEventType fromCode(short code) {
+        for (AuditEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
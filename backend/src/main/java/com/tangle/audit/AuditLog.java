@@ -0,0 +1,317 @@
+package com.tangle.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only audit trail kept in local memory-mapped segment files rather than the
+ * database, so auditing adds no database writes. See {@link AuditSegment} for the
+ * layout and {@link AuditReader} for queries.
+ * <p>
+ * Callers only enqueue a record. One writer thread drains whatever has queued up,
+ * copies the batch into the mapped segment and forces it to disk once for the whole
+ * batch (group commit), then indexes the blocks that batch completed. A crash loses at
+ * most the batch being written. If the queue is full the record is dropped and
+ * counted rather than slowing the request down.
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    @Value("${app.audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.audit.dir:./data/audit}")
+    private Path dir;
+
+    @Value("${app.audit.segment-bytes:67108864}")
+    private int segmentBytes;
+
+    @Value("${app.audit.index-interval-bytes:32768}")
+    private int indexIntervalBytes;
+
+    @Value("${app.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.audit.max-batch:512}")
+    private int maxBatch;
+
+    // Longest a record waits for a batch to fill before it is written
+    @Value("${app.audit.flush-interval-ms:20}")
+    private long flushIntervalMs;
+
+    @Value("${app.audit.fsync:true}")
+    private boolean fsync;
+
+    @Value("${app.audit.retention-days:90}")
+    private int retentionDays;
+
+    private BlockingQueue<AuditRecord> queue;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    // Writer thread state
+    private long sequence;
+    private FileChannel channel;
+    private FileChannel indexChannel;
+    private MappedByteBuffer segment;
+    private int blockStart;
+    private long blockMin;
+    private long blockMax;
+    private long[] blockUsers;
+    private final List<AuditSegment.Block> completedBlocks = new ArrayList<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(dir);
+        List<Long> sequences = AuditSegment.sequences(dir);
+        if (sequences.isEmpty()) {
+            openSegment(1);
+        } else {
+            recover(sequences.get(sequences.size() - 1));
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(5000);
+    }
+
+    public void record(AuditEventType type, Long actorId, Long subjectId, Long communityId, String detail) {
+        if (!enabled) {
+            return;
+        }
+        if (!queue.offer(AuditRecord.of(type, actorId, subjectId, communityId, detail))) {
+            long count = dropped.incrementAndGet();
+            if (Long.bitCount(count) == 1) {
+                logger.warn("Audit queue is full, {} records dropped so far", count);
+            }
+        }
+    }
+
+    public List<AuditRecord> query(Long fromMillis, Long toMillis, Long userId, Set<AuditEventType> types, int limit) {
+        return new AuditReader(dir).query(fromMillis, toMillis, userId, types, limit);
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void writeLoop() {
+        List<AuditRecord> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                for (AuditRecord record : batch) {
+                    append(record);
+                }
+                commit();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException | RuntimeException e) {
+                logger.error("Writing {} audit records failed", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+        try {
+            closeBlock();
+            commit();
+            channel.close();
+            indexChannel.close();
+        } catch (IOException e) {
+            logger.error("Closing audit segment {} failed", sequence, e);
+        }
+    }
+
+    private void append(AuditRecord record) throws IOException {
+        byte[] detail = record.detailBytes();
+        int size = AuditRecord.encodedSize(detail);
+        // Keep 4 zero bytes after the last record as the end marker
+        if (segment.position() + size + 4 > segment.capacity()) {
+            rotate();
+        }
+        if (segment.position() == blockStart) {
+            blockMin = record.timestamp();
+            blockMax = record.timestamp();
+            blockUsers = AuditSegment.newUserFilter();
+        }
+        record.encode(segment, detail);
+        blockMin = Math.min(blockMin, record.timestamp());
+        blockMax = Math.max(blockMax, record.timestamp());
+        AuditSegment.addUsersOf(blockUsers, record);
+        if (segment.position() - blockStart >= indexIntervalBytes) {
+            closeBlock();
+        }
+    }
+
+    private void closeBlock() {
+        if (segment.position() > blockStart) {
+            completedBlocks.add(new AuditSegment.Block(blockMin, blockMax, blockStart, segment.position(), blockUsers));
+            blockStart = segment.position();
+        }
+    }
+
+    // Records reach the disk before the index entries pointing at them
+    private void commit() throws IOException {
+        if (fsync) {
+            segment.force();
+        }
+        if (completedBlocks.isEmpty()) {
+            return;
+        }
+        ByteBuffer entries = ByteBuffer.allocate(completedBlocks.size() * AuditSegment.INDEX_ENTRY_BYTES);
+        completedBlocks.forEach(block -> block.writeTo(entries));
+        entries.flip();
+        while (entries.hasRemaining()) {
+            indexChannel.write(entries);
+        }
+        if (fsync) {
+            indexChannel.force(false);
+        }
+        completedBlocks.clear();
+    }
+
+    private void rotate() throws IOException {
+        closeBlock();
+        commit();
+        channel.close();
+        indexChannel.close();
+        openSegment(sequence + 1);
+        deleteExpiredSegments();
+    }
+
+    private void openSegment(long newSequence) throws IOException {
+        sequence = newSequence;
+        channel = FileChannel.open(AuditSegment.dataFile(dir, sequence),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segment.putInt(AuditSegment.MAGIC).putInt(AuditSegment.VERSION);
+        segment.force();
+        indexChannel = FileChannel.open(AuditSegment.indexFile(dir, sequence),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        blockStart = segment.position();
+        logger.info("Opened audit segment {}", AuditSegment.dataFile(dir, sequence));
+    }
+
+    /**
+     * Continues the last segment after the last intact record. Blocks written but not
+     * yet indexed when the process stopped become the open block again.
+     */
+    private void recover(long lastSequence) throws IOException {
+        sequence = lastSequence;
+        channel = FileChannel.open(AuditSegment.dataFile(dir, sequence), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < AuditSegment.HEADER_BYTES + 4) {
+            // Never got its header; start over
+            channel.close();
+            Files.delete(AuditSegment.dataFile(dir, sequence));
+            Files.deleteIfExists(AuditSegment.indexFile(dir, sequence));
+            openSegment(sequence);
+            return;
+        }
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        if (AuditSegment.isLegacy(segment)) {
+            // Left as it is for readers and retention; new records go to a segment in the current format
+            channel.close();
+            openSegment(sequence + 1);
+            return;
+        }
+        if (!AuditSegment.hasValidHeader(segment)) {
+            throw new IllegalStateException("Not an audit segment: " + AuditSegment.dataFile(dir, sequence));
+        }
+        List<AuditSegment.Block> blocks = AuditSegment.readIndex(dir, sequence);
+        blockStart = blocks.isEmpty() ? AuditSegment.HEADER_BYTES : blocks.get(blocks.size() - 1).end();
+        segment.position(blockStart);
+        blockMin = Long.MAX_VALUE;
+        blockMax = Long.MIN_VALUE;
+        blockUsers = AuditSegment.newUserFilter();
+        AuditRecord record;
+        while ((record = AuditRecord.decode(segment)) != null) {
+            blockMin = Math.min(blockMin, record.timestamp());
+            blockMax = Math.max(blockMax, record.timestamp());
+            AuditSegment.addUsersOf(blockUsers, record);
+        }
+        // Clear a torn record so it cannot be read as the start of a later one
+        int end = segment.position();
+        for (int i = end; i < Math.min(end + AuditRecord.encodedSize(new byte[AuditRecord.MAX_DETAIL_BYTES]), segment.capacity()); i++) {
+            segment.put(i, (byte) 0);
+        }
+        // Index entries are only ever appended, so a torn last entry is cut off first
+        try (FileChannel index = FileChannel.open(AuditSegment.indexFile(dir, sequence),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            index.truncate((long) blocks.size() * AuditSegment.INDEX_ENTRY_BYTES);
+        }
+        indexChannel = FileChannel.open(AuditSegment.indexFile(dir, sequence),
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        logger.info("Resuming audit segment {} at byte {}", AuditSegment.dataFile(dir, sequence), end);
+    }
+
+    private void deleteExpiredSegments() {
+        long cutoff = System.currentTimeMillis() - Duration.ofDays(retentionDays).toMillis();
+        for (long old : AuditSegment.sequences(dir)) {
+            if (old >= sequence) {
+                break;
+            }
+            try {
+                long newest;
+                if (AuditSegment.readVersion(dir, old) == AuditSegment.VERSION) {
+                    newest = AuditSegment.readIndex(dir, old).stream()
+                            .mapToLong(AuditSegment.Block::maxTimestamp).max().orElse(Long.MIN_VALUE);
+                } else {
+                    // No index in a format this version reads; the last write is close enough
+                    newest = Files.getLastModifiedTime(AuditSegment.dataFile(dir, old)).toMillis();
+                }
+                if (newest < cutoff) {
+                    Files.deleteIfExists(AuditSegment.indexFile(dir, old));
+                    Files.deleteIfExists(AuditSegment.dataFile(dir, old));
+                    logger.info("Deleted audit segment {} past {} days of retention", old, retentionDays);
+                }
+            } catch (IOException e) {
+                logger.warn("Could not delete audit segment {}", old, e);
+            }
+        }
+    }
+}
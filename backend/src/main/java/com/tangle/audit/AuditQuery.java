@@ -0,0 +1,61 @@
+package com.tangle.audit;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command-line query over an audit directory, for use on a server or a copied set of
+ * segments without starting the application:
+ * <pre>
+ *   java -cp tangle-backend-1.0.0.jar -Dloader.main=com.tangle.audit.AuditQuery \
+ *       org.springframework.boot.loader.launch.PropertiesLauncher \
+ *       --dir=./data/audit --from=2026-10-01T00:00 --to=2026-10-02T00:00 --user=42 --type=LOGIN --limit=100
+ * </pre>
+ * Prints one tab-separated line per record: time, type, actor, subject, community, detail.
+ */
+public final class AuditQuery {
+
+    private AuditQuery() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                System.err.println("Usage: AuditQuery --dir=<dir> [--from=<date-time>] [--to=<date-time>] [--user=<id>] [--type=<type,...>] [--limit=<n>]");
+                System.exit(2);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        Set<AuditEventType> types = null;
+        if (options.containsKey("type")) {
+            types = EnumSet.noneOf(AuditEventType.class);
+            for (String type : options.get("type").split(",")) {
+                types.add(AuditEventType.valueOf(type.trim().toUpperCase()));
+            }
+        }
+        List<AuditRecord> records = new AuditReader(Path.of(options.getOrDefault("dir", "./data/audit"))).query(
+                toMillis(options.get("from")), toMillis(options.get("to")),
+                options.containsKey("user") ? Long.valueOf(options.get("user")) : null,
+                types, Integer.parseInt(options.getOrDefault("limit", "1000")));
+        for (AuditRecord record : records) {
+            System.out.println(LocalDateTime.ofInstant(record.time(), ZoneId.systemDefault()) + "\t" + record.type()
+                    + "\t" + orDash(record.actorId()) + "\t" + orDash(record.subjectId()) + "\t" + orDash(record.communityId())
+                    + "\t" + (record.detail() != null ? record.detail() : "-"));
+        }
+    }
+
+    private static Long toMillis(String time) {
+        return time == null ? null : LocalDateTime.parse(time).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String orDash(Long id) {
+        return id != null ? id.toString() : "-";
+    }
+}
@@ -0,0 +1,92 @@
+package com.tangle.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Queries the audit segments in a directory by time range, user and type. The sparse
+ * index decides which blocks are read at all: blocks outside the time range are
+ * skipped, and so are blocks whose Bloom filter rules out the user. Only the
+ * unindexed tail of the live segment is always scanned.
+ * <p>
+ * Safe to use while the log is being written, and on a copy of the directory.
+ */
+public class AuditReader {
+
+    private final Path dir;
+
+    public AuditReader(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * The latest records matching every given filter, oldest first. Null filters match
+     * everything; the time range is inclusive, in epoch millis.
+     */
+    public List<AuditRecord> query(Long fromMillis, Long toMillis, Long userId, Set<AuditEventType> types, int limit) {
+        long from = fromMillis != null ? fromMillis : Long.MIN_VALUE;
+        long to = toMillis != null ? toMillis : Long.MAX_VALUE;
+        Deque<AuditRecord> latest = new ArrayDeque<>();
+        for (long sequence : AuditSegment.sequences(dir)) {
+            try {
+                scanSegment(sequence, from, to, userId, types, limit, latest);
+            } catch (NoSuchFileException e) {
+                // Deleted by retention while we were listing
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read audit segment " + sequence, e);
+            }
+        }
+        return new ArrayList<>(latest);
+    }
+
+    private void scanSegment(long sequence, long from, long to, Long userId, Set<AuditEventType> types, int limit,
+                             Deque<AuditRecord> latest) throws IOException {
+        try (FileChannel channel = FileChannel.open(AuditSegment.dataFile(dir, sequence), StandardOpenOption.READ)) {
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (AuditSegment.isLegacy(segment)) {
+                scan(segment, AuditSegment.HEADER_BYTES, segment.limit(), from, to, userId, types, limit, latest);
+                return;
+            }
+            if (!AuditSegment.hasValidHeader(segment)) {
+                return;
+            }
+            List<AuditSegment.Block> blocks = AuditSegment.readIndex(dir, sequence);
+            int tail = AuditSegment.HEADER_BYTES;
+            for (AuditSegment.Block block : blocks) {
+                tail = Math.max(tail, block.end());
+                if (block.overlaps(from, to) && (userId == null || block.mightInvolve(userId))) {
+                    scan(segment, block.start(), block.end(), from, to, userId, types, limit, latest);
+                }
+            }
+            scan(segment, tail, segment.limit(), from, to, userId, types, limit, latest);
+        }
+    }
+
+    private void scan(MappedByteBuffer segment, int start, int end, long from, long to, Long userId,
+                      Set<AuditEventType> types, int limit, Deque<AuditRecord> latest) {
+        ByteBuffer buffer = segment.duplicate().position(start).limit(Math.min(end, segment.limit()));
+        AuditRecord record;
+        while ((record = AuditRecord.decode(buffer)) != null) {
+            if (record.type() != null
+                    && record.timestamp() >= from && record.timestamp() <= to
+                    && (userId == null || record.involves(userId))
+                    && (types == null || types.isEmpty() || types.contains(record.type()))) {
+                latest.addLast(record);
+                if (latest.size() > limit) {
+                    latest.removeFirst();
+                }
+            }
+        }
+    }
+}
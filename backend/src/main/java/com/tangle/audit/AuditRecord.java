@@ -0,0 +1,129 @@
+package com.tangle.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.CRC32;
+
+/**
+ * One audited event. Ids are optional: the actor is the user who acted, the subject
+ * what they acted on (a post, report or user, depending on the type).
+ * <p>
+ * Encoded as:
+ * <pre>
+ *   int    length of the rest of the record
+ *   long   timestamp, epoch millis
+ *   short  type code
+ *   long   actor id, 0 if none
+ *   long   subject id, 0 if none
+ *   long   community id, 0 if none
+ *   short  detail length, then that many UTF-8 bytes; 0 if none
+ *   int    CRC32 of everything after the length
+ * </pre>
+ * A length of 0 marks the end of the written part of a segment; a bad CRC marks a
+ * record torn by a crash.
+ */
+public record AuditRecord(long timestamp, AuditEventType type, Long actorId, Long subjectId, Long communityId, String detail) {
+
+    static final int MAX_DETAIL_BYTES = 1024;
+
+    // Fixed fields after the length, CRC included
+    private static final int FIXED_BYTES = 8 + 2 + 8 + 8 + 8 + 2 + 4;
+
+    public static AuditRecord of(AuditEventType type, Long actorId, Long subjectId, Long communityId, String detail) {
+        return new AuditRecord(System.currentTimeMillis(), type, actorId, subjectId, communityId, detail);
+    }
+
+    public Instant time() {
+        return Instant.ofEpochMilli(timestamp);
+    }
+
+    /**
+     * Whether the record concerns the user, as actor or as subject.
+     */
+    public boolean involves(long userId) {
+        return actorId != null && actorId == userId
+                || type.hasUserSubject() && subjectId != null && subjectId == userId;
+    }
+
+    byte[] detailBytes() {
+        if (detail == null) {
+            return new byte[0];
+        }
+        byte[] bytes = detail.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_DETAIL_BYTES) {
+            return bytes;
+        }
+        // Cut at a character boundary
+        int end = MAX_DETAIL_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        byte[] cut = new byte[end];
+        System.arraycopy(bytes, 0, cut, 0, end);
+        return cut;
+    }
+
+    static int encodedSize(byte[] detail) {
+        return 4 + FIXED_BYTES + detail.length;
+    }
+
+    void encode(ByteBuffer buffer, byte[] detail) {
+        int start = buffer.position();
+        buffer.putInt(FIXED_BYTES + detail.length);
+        buffer.putLong(timestamp);
+        buffer.putShort(type.getCode());
+        buffer.putLong(orZero(actorId));
+        buffer.putLong(orZero(subjectId));
+        buffer.putLong(orZero(communityId));
+        buffer.putShort((short) detail.length);
+        buffer.put(detail);
+        buffer.putInt(crc(buffer, start + 4, buffer.position()));
+    }
+
+    /**
+     * Decodes the record at the buffer's position and moves past it, or returns null
+     * at the end of the written data, leaving the position where it was.
+     */
+    static AuditRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < 4) {
+            return null;
+        }
+        int length = buffer.getInt(start);
+        if (length < FIXED_BYTES || length > FIXED_BYTES + MAX_DETAIL_BYTES || length > buffer.remaining() - 4) {
+            return null;
+        }
+        int end = start + 4 + length;
+        if (buffer.getInt(end - 4) != crc(buffer, start + 4, end - 4)) {
+            return null;
+        }
+        buffer.position(start + 4);
+        long timestamp = buffer.getLong();
+        AuditEventType type = AuditEventType.fromCode(buffer.getShort());
+        Long actorId = orNull(buffer.getLong());
+        Long subjectId = orNull(buffer.getLong());
+        Long communityId = orNull(buffer.getLong());
+        byte[] detail = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(detail);
+        buffer.position(end);
+        // Codes written by a newer version are skipped rather than failing the scan
+        return type == null ? new AuditRecord(timestamp, null, actorId, subjectId, communityId, null)
+                : new AuditRecord(timestamp, type, actorId, subjectId, communityId,
+                        detail.length > 0 ? new String(detail, StandardCharsets.UTF_8) : null);
+    }
+
+    private static int crc(ByteBuffer buffer, int from, int to) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(from).limit(to));
+        return (int) crc.getValue();
+    }
+
+    private static long orZero(Long id) {
+        return id != null ? id : 0;
+    }
+
+    private static Long orNull(long id) {
+        return id != 0 ? id : null;
+    }
+}
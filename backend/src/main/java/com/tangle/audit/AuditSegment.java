@@ -0,0 +1,207 @@
+package com.tangle.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * File layout shared by the audit writer and readers. The log is a directory of
+ * numbered segments, each a preallocated data file of records after an 8-byte header
+ * and an index file beside it:
+ * <pre>
+ *   {dir}/000000000001.seg
+ *        /000000000001.idx
+ * </pre>
+ * The index is sparse: one 88-byte entry per block of about index-interval bytes of
+ * records, holding the block's time range, its byte range and a 512-bit Bloom filter
+ * of the user ids it involves. An entry is written only once its block is on disk,
+ * so the records after the last entry are the unindexed tail of the live segment.
+ * <p>
+ * Version 1 segments carried a 64-bit filter, which matched nearly every block once a
+ * block involved a few dozen users. Their index is not read; they are scanned in full
+ * until retention deletes them.
+ */
+public final class AuditSegment {
+
+    static final int MAGIC = 0x41554454; // "AUDT"
+    static final int VERSION = 2;
+    static final int LEGACY_VERSION = 1;
+    static final int HEADER_BYTES = 8;
+
+    // Three bits per user in 512: about 2% false positives at 50 users a block, 9% at 100
+    static final int USER_FILTER_LONGS = 8;
+    static final int USER_FILTER_HASHES = 3;
+
+    static final int INDEX_ENTRY_BYTES = 24 + USER_FILTER_LONGS * Long.BYTES;
+
+    private static final Pattern NAME = Pattern.compile("(\\d{12})\\.seg");
+
+    private AuditSegment() {
+    }
+
+    /**
+     * A block of records: [start, end) in the segment file.
+     */
+    record Block(long minTimestamp, long maxTimestamp, int start, int end, long[] users) {
+
+        boolean overlaps(long from, long to) {
+            return maxTimestamp >= from && minTimestamp <= to;
+        }
+
+        boolean mightInvolve(long userId) {
+            long hash = mix(userId);
+            for (int i = 0; i < USER_FILTER_HASHES; i++) {
+                int bit = bitOf(hash, i);
+                if ((users[bit >>> 6] & 1L << bit) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void writeTo(ByteBuffer buffer) {
+            buffer.putLong(minTimestamp).putLong(maxTimestamp).putInt(start).putInt(end);
+            for (long word : users) {
+                buffer.putLong(word);
+            }
+        }
+
+        static Block readFrom(ByteBuffer buffer) {
+            long minTimestamp = buffer.getLong();
+            long maxTimestamp = buffer.getLong();
+            int start = buffer.getInt();
+            int end = buffer.getInt();
+            long[] users = new long[USER_FILTER_LONGS];
+            for (int i = 0; i < users.length; i++) {
+                users[i] = buffer.getLong();
+            }
+            return new Block(minTimestamp, maxTimestamp, start, end, users);
+        }
+    }
+
+    static Path dataFile(Path dir, long sequence) {
+        return dir.resolve(String.format("%012d.seg", sequence));
+    }
+
+    static Path indexFile(Path dir, long sequence) {
+        return dir.resolve(String.format("%012d.idx", sequence));
+    }
+
+    /**
+     * Sequence numbers of the segments in the directory, oldest first.
+     */
+    static List<Long> sequences(Path dir) {
+        List<Long> sequences = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return sequences;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                Matcher matcher = NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    sequences.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list audit segments in " + dir, e);
+        }
+        sequences.sort(null);
+        return sequences;
+    }
+
+    static List<Block> readIndex(Path dir, long sequence) throws IOException {
+        Path file = indexFile(dir, sequence);
+        List<Block> blocks = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return blocks;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // A torn last entry is ignored
+            ByteBuffer buffer = ByteBuffer.allocate((int) (channel.size() / INDEX_ENTRY_BYTES * INDEX_ENTRY_BYTES));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            while (buffer.remaining() >= INDEX_ENTRY_BYTES) {
+                blocks.add(Block.readFrom(buffer));
+            }
+        }
+        return blocks;
+    }
+
+    static boolean hasValidHeader(ByteBuffer segment) {
+        return version(segment) == VERSION;
+    }
+
+    static boolean isLegacy(ByteBuffer segment) {
+        return version(segment) == LEGACY_VERSION;
+    }
+
+    // -1 unless the buffer starts with a segment header
+    static int version(ByteBuffer segment) {
+        return segment.limit() >= HEADER_BYTES && segment.getInt(0) == MAGIC ? segment.getInt(4) : -1;
+    }
+
+    static int readVersion(Path dir, long sequence) throws IOException {
+        try (FileChannel channel = FileChannel.open(dataFile(dir, sequence), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    break;
+                }
+            }
+            header.flip();
+            return version(header);
+        }
+    }
+
+    static long[] newUserFilter() {
+        return new long[USER_FILTER_LONGS];
+    }
+
+    static void addUsersOf(long[] filter, AuditRecord record) {
+        if (record.actorId() != null) {
+            addUser(filter, record.actorId());
+        }
+        if (record.type() != null && record.type().hasUserSubject() && record.subjectId() != null) {
+            addUser(filter, record.subjectId());
+        }
+    }
+
+    private static void addUser(long[] filter, long userId) {
+        long hash = mix(userId);
+        for (int i = 0; i < USER_FILTER_HASHES; i++) {
+            int bit = bitOf(hash, i);
+            filter[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    // Murmur3's 64-bit finalizer, so sequential ids spread over the whole filter
+    private static long mix(long userId) {
+        long hash = userId;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    // Double hashing: the i-th bit from the two halves of the mix
+    private static int bitOf(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + i * h2) & (USER_FILTER_LONGS * Long.SIZE - 1);
+    }
+}
@@ -0,0 +1,161 @@
+package com.tangle.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Short-TTL result cache with single-flight loading: concurrent misses for the
+ * same key wait on one in-flight load instead of each hitting the database.
+ */
+public class CoalescingCache<K, V> {
+
+    private final String name;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<K, CachedValue<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder executedLoads = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder failedLoads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CoalescingCache(String name, long ttlMillis, int maxEntries) {
+        this.name = name;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        CachedValue<V> cached = entries.get(key);
+        if (cached != null && !cached.isExpired()) {
+            hits.increment();
+            return cached.value;
+        }
+
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return await(existing);
+        }
+
+        try {
+            // Another leader may have finished between our miss and winning the slot
+            cached = entries.get(key);
+            if (cached != null && !cached.isExpired()) {
+                hits.increment();
+                pending.complete(cached.value);
+                return cached.value;
+            }
+
+            executedLoads.increment();
+            V value = loader.get();
+            store(key, value);
+            pending.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            failedLoads.increment();
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    public void invalidate(K key) {
+        if (entries.remove(key) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void invalidateAll() {
+        evictions.add(entries.size());
+        entries.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("ttlMillis", ttlMillis);
+        stats.put("hits", hits.sum());
+        stats.put("executedLoads", executedLoads.sum());
+        stats.put("coalescedLoads", coalescedLoads.sum());
+        stats.put("failedLoads", failedLoads.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return executedLoads.sum() + coalescedLoads.sum();
+    }
+
+    public long getExecutedLoadCount() {
+        return executedLoads.sum();
+    }
+
+    public long getCoalescedLoadCount() {
+        return coalescedLoads.sum();
+    }
+
+    public long getFailedLoadCount() {
+        return failedLoads.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void store(K key, V value) {
+        if (value == null || ttlMillis <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            entries.entrySet().removeIf(entry -> entry.getValue().isExpired());
+            if (entries.size() >= maxEntries) {
+                invalidateAll();
+            }
+        }
+        entries.put(key, new CachedValue<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class CachedValue<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private CachedValue(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.tangle.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded and gzipped response bodies keyed by ETag, for responses that only change
+ * when their ETag does, such as the community list. A hit skips the query,
+ * serialization and compression. Tomcat leaves responses that already carry a
+ * Content-Encoding alone, and bodies under the server's compression threshold are
+ * cached uncompressed.
+ */
+@Component
+public class CompressedResponseCache {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private CoalescingCache<String, EncodedBody> encodedBodyCache;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jsonConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Value("${server.compression.min-response-size:2KB}")
+    private DataSize minResponseSize;
+
+    /**
+     * Returns the body for the given ETag, loading and encoding it on a miss. The
+     * ETag must already cover the negotiated media type.
+     */
+    public ResponseEntity<?> respond(WebRequest webRequest, String etag, Supplier<?> body) {
+        MediaType mediaType = negotiate(webRequest);
+        if (mediaType == null) {
+            // Let the regular converters answer, or reject with 406
+            return ResponseEntity.ok(body.get());
+        }
+        boolean gzip = acceptsGzip(webRequest);
+        EncodedBody encoded = encodedBodyCache.get(etag + " " + mediaType + (gzip ? " gzip" : ""),
+                () -> encode(body.get(), mediaType, gzip));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(encoded.mediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (encoded.gzipped()) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(encoded.bytes());
+    }
+
+    private boolean acceptsGzip(WebRequest webRequest) {
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The body format the request's Accept header selects, or null when none of JSON,
+     * CBOR and Smile is acceptable. JSON, CBOR and Smile bodies of the same rows need
+     * distinct ETags, so ETags include this rather than the raw header.
+     */
+    public MediaType negotiate(WebRequest webRequest) {
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        List<MediaType> acceptable = accept == null || accept.isBlank()
+                ? List.of(MediaType.ALL)
+                : MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType type : acceptable) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType candidate : List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE)) {
+                if (type.isCompatibleWith(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private EncodedBody encode(Object body, MediaType mediaType, boolean gzip) {
+        ObjectMapper objectMapper = mediaType.equals(MediaType.APPLICATION_CBOR) ? cborConverter.getObjectMapper()
+                : mediaType.equals(SMILE) ? smileConverter.getObjectMapper()
+                : jsonConverter.getObjectMapper();
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            if (!gzip || bytes.length < minResponseSize.toBytes()) {
+                return new EncodedBody(mediaType, bytes, false);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                gzipOut.write(bytes);
+            }
+            return new EncodedBody(mediaType, out.toByteArray(), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode response as " + mediaType, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record EncodedBody(MediaType mediaType, byte[] bytes, boolean gzipped) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.tangle.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory state that is kept current by local writes and periodically rebuilt
+ * from the database. A rebuild loads the new state without holding the write lock;
+ * writes made meanwhile go to the live state and are replayed onto the loaded one
+ * before it is swapped in, so none is lost by the swap.
+ */
+public class RebuildableIndex<S> {
+
+    private final Object writeLock = new Object();
+
+    private volatile S current;
+
+    // Writes made while a rebuild is loading
+    private List<Consumer<S>> pendingWrites;
+
+    // Set once the first build has been swapped in
+    private volatile boolean warm;
+
+    public RebuildableIndex(S initial) {
+        this.current = initial;
+    }
+
+    public S get() {
+        return current;
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Loads a new state and swaps it in, returning it.
+     */
+    public S rebuild(Supplier<S> loader) {
+        synchronized (writeLock) {
+            pendingWrites = new ArrayList<>();
+        }
+        try {
+            S loaded = loader.get();
+            synchronized (writeLock) {
+                current = loaded;
+                pendingWrites.forEach(write -> write.accept(loaded));
+                warm = true;
+            }
+            return loaded;
+        } finally {
+            synchronized (writeLock) {
+                pendingWrites = null;
+            }
+        }
+    }
+
+    public void write(Consumer<S> write) {
+        compute(state -> {
+            write.accept(state);
+            return null;
+        });
+    }
+
+    /**
+     * Applies the write and returns its result; a replay after a rebuild discards it.
+     */
+    public <T> T compute(Function<S, T> write) {
+        synchronized (writeLock) {
+            T result = write.apply(current);
+            if (pendingWrites != null) {
+                pendingWrites.add(write::apply);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Applies the write to the live state only, for changes a rebuild may already have
+     * loaded and must not count twice.
+     */
+    public void writeCurrent(Consumer<S> write) {
+        synchronized (writeLock) {
+            write.accept(current);
+        }
+    }
+}
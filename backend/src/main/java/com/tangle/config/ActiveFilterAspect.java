@@ -0,0 +1,73 @@
+package com.tangle.config;
+
+import com.tangle.repository.IncludeInactive;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the soft-delete filter, which {@link ActiveFilterInitializer} enables on every
+ * session, in force around repository calls, so entity queries only see rows with
+ * is_active = true. Methods marked {@link IncludeInactive} run with it switched off.
+ */
+@Aspect
+@Component
+public class ActiveFilterAspect {
+
+    public static final String FILTER_NAME = "activeFilter";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Around("execution(* com.tangle.repository..*(..))")
+    public Object applyActiveFilter(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean includeInactive = ((MethodSignature) joinPoint.getSignature()).getMethod()
+                .isAnnotationPresent(IncludeInactive.class);
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager == null) {
+            // The call gets a session of its own, filtered from the start; only a bound one can be unfiltered
+            return includeInactive ? proceedInTransaction(joinPoint) : joinPoint.proceed();
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+        boolean wasEnabled = session.getEnabledFilter(FILTER_NAME) != null;
+
+        if (includeInactive) {
+            session.disableFilter(FILTER_NAME);
+        } else {
+            session.enableFilter(FILTER_NAME);
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (wasEnabled) {
+                session.enableFilter(FILTER_NAME);
+            } else {
+                session.disableFilter(FILTER_NAME);
+            }
+        }
+    }
+
+    private Object proceedInTransaction(ProceedingJoinPoint joinPoint) {
+        return transactionTemplate.execute(status -> {
+            try {
+                return applyActiveFilter(joinPoint);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
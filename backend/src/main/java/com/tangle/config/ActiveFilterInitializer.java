@@ -0,0 +1,26 @@
+package com.tangle.config;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Enables the soft-delete filter on every EntityManager the factory creates: the
+ * request's session, transactions, and the short-lived sessions repositories open
+ * when called outside both, as scheduled and background jobs do. The filter is on
+ * unless {@link ActiveFilterAspect} switches it off for an
+ * {@link com.tangle.repository.IncludeInactive} method.
+ */
+@Component
+public class ActiveFilterInitializer implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof AbstractEntityManagerFactoryBean factoryBean) {
+            factoryBean.setEntityManagerInitializer(entityManager ->
+                    entityManager.unwrap(Session.class).enableFilter(ActiveFilterAspect.FILTER_NAME));
+        }
+        return bean;
+    }
+}
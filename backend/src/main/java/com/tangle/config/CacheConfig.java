@@ -0,0 +1,43 @@
+package com.tangle.config;
+
+import com.tangle.cache.CoalescingCache;
+import com.tangle.cache.CompressedResponseCache;
+import com.tangle.entity.Comment;
+import com.tangle.entity.Post;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    @Value("${app.cache.ttl-ms:2000}")
+    private long ttlMillis;
+
+    @Value("${app.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.compression.cache-ttl-ms:600000}")
+    private long encodedBodyTtlMillis;
+
+    @Value("${app.compression.cache-max-entries:256}")
+    private int encodedBodyMaxEntries;
+
+    @Bean
+    public CoalescingCache<Long, Post> postCache() {
+        return new CoalescingCache<>("posts", ttlMillis, maxEntries);
+    }
+
+    @Bean
+    public CoalescingCache<Long, List<Comment>> postCommentsCache() {
+        return new CoalescingCache<>("postComments", ttlMillis, maxEntries);
+    }
+
+    // Keyed by ETag, so entries never go stale; the TTL only bounds memory
+    @Bean
+    public CoalescingCache<String, CompressedResponseCache.EncodedBody> encodedBodyCache() {
+        return new CoalescingCache<>("encodedBodies", encodedBodyTtlMillis, encodedBodyMaxEntries);
+    }
+}
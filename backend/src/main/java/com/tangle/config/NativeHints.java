@@ -0,0 +1,69 @@
+package com.tangle.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Reflection metadata the native image needs beyond what Spring's AOT processing
+ * infers from the bean definitions. Runs at build time, on the JVM.
+ * <p>
+ * Controllers mostly return {@code ResponseEntity<?>} and some take entities as
+ * request bodies, so Jackson's targets cannot be derived from the handler signatures:
+ * every entity and DTO gets binding hints (fields, accessors, constructors and the
+ * types they reach). jjwt creates its implementation classes by name and finds its
+ * Jackson serializer through {@code META-INF/services}.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final List<String> BOUND_PACKAGES = List.of("com.tangle.entity", "com.tangle.dto");
+
+    private static final List<String> JJWT_CLASSES = List.of(
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        for (String basePackage : BOUND_PACKAGES) {
+            for (BeanDefinition candidate : boundTypes().findCandidateComponents(basePackage)) {
+                bindings.registerReflectionHints(hints.reflection(),
+                        ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+        }
+
+        for (String className : JJWT_CLASSES) {
+            hints.reflection().registerTypeIfPresent(classLoader, className,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+    }
+
+    // Every top-level or static nested class, record and enum; not only Spring components
+    private static ClassPathScanningCandidateComponentProvider boundTypes() {
+        ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isIndependent() && !beanDefinition.getMetadata().isInterface()
+                        && !beanDefinition.getMetadata().getClassName().endsWith(".package-info");
+            }
+        };
+        provider.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+        return provider;
+    }
+}
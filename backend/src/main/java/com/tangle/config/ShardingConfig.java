@@ -0,0 +1,60 @@
+package com.tangle.config;
+
+import com.tangle.shard.ShardRoutingDataSource;
+import com.tangle.shard.ShardSchemaInitializer;
+import com.tangle.shard.ShardingProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ShardRoutingDataSource dataSource(ShardingProperties properties, DataSourceProperties defaultDataSource) {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put(properties.getDefaultShard(), defaultDataSource.initializeDataSourceBuilder().build());
+        properties.getShards().forEach((name, shard) -> shards.put(name, DataSourceBuilder.create()
+                .url(shard.getUrl())
+                .username(shard.getUsername())
+                .password(shard.getPassword())
+                .driverClassName(shard.getDriverClassName())
+                .build()));
+        return new ShardRoutingDataSource(shards, properties.getDefaultShard());
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer() {
+        return new ShardSchemaInitializer();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernateCustomizer(ShardSchemaInitializer shardSchemaInitializer) {
+        return properties -> {
+            // Give connections back after each transaction so routing can change within a request
+            properties.put(AvailableSettings.CONNECTION_HANDLING,
+                    PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+            properties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(shardSchemaInitializer));
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton shardSchemaSetup(ShardingProperties properties, ShardSchemaInitializer shardSchemaInitializer) {
+        return () -> properties.getShards().keySet().stream()
+                .filter(shard -> !shard.equals(properties.getDefaultShard()))
+                .forEach(shardSchemaInitializer::initialize);
+    }
+}
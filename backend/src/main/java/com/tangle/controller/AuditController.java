@@ -0,0 +1,71 @@
+package com.tangle.controller;
+
+import com.tangle.audit.AuditEventType;
+import com.tangle.audit.AuditLog;
+import com.tangle.dto.AuditEntryResponse;
+import com.tangle.dto.ErrorResponse;
+import com.tangle.entity.UserRole;
+import com.tangle.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads this instance's audit log. Each instance keeps its own segments, so a full
+ * trail means asking every instance or running AuditQuery over their directories.
+ */
+@Lazy
+@RestController
+@RequestMapping("/admin/audit")
+public class AuditController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * The latest entries matching the filters, oldest first. Times are ISO local
+     * date-times; types is a comma-separated list.
+     */
+    @GetMapping
+    public ResponseEntity<?> getAuditEntries(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String types,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        try {
+            requireAdmin();
+            Set<AuditEventType> typeSet = types == null || types.isBlank() ? null : Arrays.stream(types.split(","))
+                    .map(type -> AuditEventType.valueOf(type.trim().toUpperCase()))
+                    .collect(Collectors.toCollection(() -> EnumSet.noneOf(AuditEventType.class)));
+            return ResponseEntity.ok(auditLog.query(toMillis(from), toMillis(to), userId, typeSet, Math.min(Math.max(limit, 1), MAX_LIMIT))
+                    .stream().map(AuditEntryResponse::from).collect(Collectors.toList()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    private Long toMillis(String time) {
+        return time == null || time.isBlank() ? null : LocalDateTime.parse(time).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void requireAdmin() {
+        if (userService.getCurrentUser().getRole() != UserRole.ADMIN) {
+            throw new RuntimeException("Admin access required");
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.tangle.controller;
 
+import com.tangle.dto.ErrorResponse;
 import com.tangle.dto.LoginDto;
+import com.tangle.dto.RegistrationResponse;
 import com.tangle.dto.UserRegistrationDto;
+import com.tangle.dto.UserResponse;
 import com.tangle.entity.User;
 import com.tangle.service.UserService;
 import jakarta.validation.Valid;
@@ -9,7 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.Map;
 
 @RestController
@@ -23,80 +25,34 @@ public class AuthController {
     public ResponseEntity<?> registerUser(@Valid @RequestBody UserRegistrationDto registrationDto) {
         try {
             User user = userService.registerUser(registrationDto);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "User registered successfully");
-            response.put("userId", user.getId());
-            response.put("fullName", user.getFullName());
-            response.put("email", user.getEmail());
-            response.put("phoneNumber", user.getPhoneNumber());
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new RegistrationResponse("User registered successfully", user.getId(),
+                    user.getFullName(), user.getEmail(), user.getPhoneNumber()));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
     
     @PostMapping("/auth/login")
     public ResponseEntity<?> loginUser(@Valid @RequestBody LoginDto loginDto) {
         try {
-            Map<String, Object> loginResponse = userService.loginUser(loginDto);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Login successful");
-            response.put("token", loginResponse.get("token"));
-            response.put("tokenType", "Bearer");
-            response.put("user", loginResponse.get("user"));
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(userService.loginUser(loginDto));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
     
     @GetMapping("/auth/profile")
     public ResponseEntity<?> getCurrentUser() {
         try {
-            User user = userService.getCurrentUser();
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", user.getId());
-            response.put("fullName", user.getFullName());
-            response.put("email", user.getEmail());
-            response.put("phoneNumber", user.getPhoneNumber());
-            response.put("role", user.getRole());
-            response.put("address", user.getAddress());
-            response.put("locality", user.getLocality());
-            response.put("pincode", user.getPincode());
-            response.put("isVerified", user.getIsVerified());
-            response.put("profilePicture", user.getProfilePicture());
-            
-            if (user.getCommunity() != null) {
-                Map<String, Object> community = new HashMap<>();
-                community.put("id", user.getCommunity().getId());
-                community.put("name", user.getCommunity().getName());
-                community.put("location", user.getCommunity().getLocation());
-                response.put("community", community);
-            }
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(UserResponse.from(userService.getCurrentUser()));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
     
     // Simple test endpoint
     @GetMapping("/test")
     public ResponseEntity<Map<String, String>> test() {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Backend is working!");
-        response.put("status", "OK");
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(Map.of("message", "Backend is working!", "status", "OK"));
     }
 } 
\ No newline at end of file
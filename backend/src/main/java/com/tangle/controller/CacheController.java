@@ -0,0 +1,29 @@
+package com.tangle.controller;
+
+import com.tangle.cache.CoalescingCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+
+    @Autowired
+    private List<CoalescingCache<?, ?>> caches;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        for (CoalescingCache<?, ?> cache : caches) {
+            response.put(cache.getName(), cache.getStats());
+        }
+        return ResponseEntity.ok(response);
+    }
+}
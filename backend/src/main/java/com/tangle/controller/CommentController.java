@@ -1,5 +1,6 @@
 package com.tangle.controller;
 
+import com.tangle.dto.CommentResponse;
 import com.tangle.entity.Comment;
 import com.tangle.service.CommentService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +9,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/comments")
@@ -18,13 +20,13 @@ public class CommentController {
     private CommentService commentService;
 
     @GetMapping("/post/{postId}")
-    public ResponseEntity<List<Comment>> getCommentsByPost(@PathVariable Long postId) {
-        return ResponseEntity.ok(commentService.getCommentsByPostId(postId));
+    public ResponseEntity<List<CommentResponse>> getCommentsByPost(@PathVariable Long postId) {
+        return ResponseEntity.ok(toResponses(commentService.getCommentsByPostId(postId)));
     }
 
     @PostMapping
-    public ResponseEntity<Comment> addComment(@RequestBody Comment comment, Authentication authentication) {
-        return ResponseEntity.ok(commentService.addComment(comment, authentication.getName()));
+    public ResponseEntity<CommentResponse> addComment(@RequestBody Comment comment, Authentication authentication) {
+        return ResponseEntity.ok(CommentResponse.from(commentService.addComment(comment, authentication.getName())));
     }
 
     @DeleteMapping("/{id}")
@@ -34,7 +36,11 @@ public class CommentController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Comment>> getCommentsByUser(@PathVariable Long userId) {
-        return ResponseEntity.ok(commentService.getCommentsByUserId(userId));
+    public ResponseEntity<List<CommentResponse>> getCommentsByUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(toResponses(commentService.getCommentsByUserId(userId)));
+    }
+
+    private List<CommentResponse> toResponses(List<Comment> comments) {
+        return comments.stream().map(CommentResponse::from).collect(Collectors.toList());
     }
 } 
\ No newline at end of file
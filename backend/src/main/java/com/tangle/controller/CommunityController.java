@@ -1,12 +1,20 @@
 package com.tangle.controller;
 
+import com.tangle.cache.CompressedResponseCache;
+import com.tangle.dto.CommunityResponse;
+import com.tangle.dto.ContentVersion;
+import com.tangle.dto.ErrorResponse;
 import com.tangle.entity.Community;
 import com.tangle.service.CommunityService;
+import com.tangle.service.ContentVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/communities")
@@ -16,32 +24,81 @@ public class CommunityController {
     @Autowired
     private CommunityService communityService;
 
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private CompressedResponseCache compressedResponseCache;
+
     @GetMapping
-    public ResponseEntity<List<Community>> getAllCommunities() {
-        return ResponseEntity.ok(communityService.getAllCommunities());
+    public ResponseEntity<?> getAllCommunities(WebRequest webRequest) {
+        ContentVersion version = contentVersionService.getCommunitiesVersion();
+        if (isNotModified(version, webRequest, "communities")) {
+            return null;
+        }
+        // Changes rarely and every client loads it, so keep the encoded bytes
+        return compressedResponseCache.respond(webRequest, eTag(version, webRequest, "communities"),
+                () -> toResponses(communityService.getAllCommunities()));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyCommunities(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Double radiusKm
+    ) {
+        try {
+            return ResponseEntity.ok(communityService.getNearbyCommunities(lat, lng, limit, radiusKm));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Community> getCommunityById(@PathVariable Long id) {
+    public ResponseEntity<CommunityResponse> getCommunityById(@PathVariable Long id, WebRequest webRequest) {
+        if (isNotModified(contentVersionService.getCommunityVersion(id), webRequest, "community", id)) {
+            return null;
+        }
         return communityService.getCommunityById(id)
-                .map(ResponseEntity::ok)
+                .map(community -> ResponseEntity.ok(CommunityResponse.from(community)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/code/{code}")
-    public ResponseEntity<Community> getCommunityByCode(@PathVariable String code) {
+    public ResponseEntity<CommunityResponse> getCommunityByCode(@PathVariable String code, WebRequest webRequest) {
+        if (isNotModified(contentVersionService.getCommunityVersionByCode(code), webRequest, "community", code)) {
+            return null;
+        }
         return communityService.getCommunityByCode(code)
-                .map(ResponseEntity::ok)
+                .map(community -> ResponseEntity.ok(CommunityResponse.from(community)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<Community> createCommunity(@RequestBody Community community) {
-        return ResponseEntity.ok(communityService.createCommunity(community));
+    public ResponseEntity<CommunityResponse> createCommunity(@RequestBody Community community) {
+        return ResponseEntity.ok(CommunityResponse.from(communityService.createCommunity(community)));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Community>> searchCommunities(@RequestParam String query) {
-        return ResponseEntity.ok(communityService.searchCommunities(query));
+    public ResponseEntity<List<CommunityResponse>> searchCommunities(@RequestParam String query, WebRequest webRequest) {
+        if (isNotModified(contentVersionService.getCommunitiesVersion(), webRequest, "communities", query)) {
+            return null;
+        }
+        return ResponseEntity.ok(toResponses(communityService.searchCommunities(query)));
+    }
+
+    private List<CommunityResponse> toResponses(List<Community> communities) {
+        return communities.stream().map(CommunityResponse::from).collect(Collectors.toList());
+    }
+
+    private boolean isNotModified(ContentVersion version, WebRequest webRequest, Object... scope) {
+        return version != null && webRequest.checkNotModified(eTag(version, webRequest, scope), version.getLastModifiedMillis());
+    }
+
+    private String eTag(ContentVersion version, WebRequest webRequest, Object... scope) {
+        Object[] negotiatedScope = Arrays.copyOf(scope, scope.length + 1);
+        negotiatedScope[scope.length] = compressedResponseCache.negotiate(webRequest);
+        return version.toETag(negotiatedScope);
     }
 } 
\ No newline at end of file
@@ -1,41 +1,62 @@
 package com.tangle.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.tangle.repository.UserRepository;
+import com.tangle.dto.HealthResponse;
+import com.tangle.dto.ReadinessResponse;
+import com.tangle.health.DatabaseProbe;
+import com.tangle.health.ReadinessCheck;
 
-import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Probes for the orchestrator. None of them query the database: the connectivity
+ * check runs on a timer in {@link DatabaseProbe} and these read its last result.
+ */
 @RestController
 public class HealthController {
     
     @Autowired
-    private UserRepository userRepository;
+    private DatabaseProbe databaseProbe;
+    
+    @Autowired
+    private ReadinessCheck readinessCheck;
     
     @GetMapping("/health")
-    public ResponseEntity<Map<String, Object>> healthCheck() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
-        response.put("message", "Tangle Community App is running");
-        response.put("timestamp", System.currentTimeMillis());
-        
-        try {
-            long userCount = userRepository.count();
-            response.put("database", "CONNECTED");
-            response.put("userCount", userCount);
-        } catch (Exception e) {
-            response.put("database", "ERROR: " + e.getMessage());
-        }
-        
-        return ResponseEntity.ok(response);
+    public ResponseEntity<HealthResponse> healthCheck() {
+        return ResponseEntity.ok(new HealthResponse("UP", "Tangle Community App is running", System.currentTimeMillis(), databaseStatus()));
+    }
+    
+    // The process is up and serving requests; restarting will not fix a database outage
+    @GetMapping("/health/live")
+    public ResponseEntity<HealthResponse> liveness() {
+        return ResponseEntity.ok(new HealthResponse("UP", "Tangle Community App is running", System.currentTimeMillis(), null));
     }
     
-    @GetMapping("/api/health")
-    public ResponseEntity<Map<String, Object>> apiHealthCheck() {
-        return healthCheck();
+    @GetMapping("/health/ready")
+    public ResponseEntity<ReadinessResponse> readiness() {
+        ReadinessResponse response = readinessCheck.check();
+        return ResponseEntity.status("UP".equals(response.status()) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+    
+    private String databaseStatus() {
+        Map<String, DatabaseProbe.Result> results = databaseProbe.getResults();
+        if (results.isEmpty()) {
+            return "UNKNOWN";
+        }
+        for (Map.Entry<String, DatabaseProbe.Result> entry : results.entrySet()) {
+            DatabaseProbe.Result result = entry.getValue();
+            if (databaseProbe.isStale(result)) {
+                return "UNKNOWN: no result from " + entry.getKey() + " since " + result.checkedAt();
+            }
+            if (!result.up()) {
+                return "ERROR: " + result.error();
+            }
+        }
+        return "CONNECTED";
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.tangle.controller;
+
+import com.tangle.dto.BulkJobResponse;
+import com.tangle.dto.BulkPostsDto;
+import com.tangle.dto.BulkReportStatusDto;
+import com.tangle.dto.ErrorResponse;
+import com.tangle.service.BulkModerationService;
+import com.tangle.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Bulk moderation for handling a wave of spam at once. Each request starts a job and
+ * answers 202 with its id; GET /moderation/jobs/{jobId} reports its progress.
+ */
+@Lazy
+@RestController
+@RequestMapping("/moderation")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ModerationController {
+
+    @Autowired
+    private BulkModerationService bulkModerationService;
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping("/reports/status")
+    public ResponseEntity<?> updateReportStatus(@RequestBody BulkReportStatusDto request) {
+        try {
+            return ResponseEntity.accepted().body(BulkJobResponse.from(bulkModerationService.updateReportStatus(
+                    request.getReportIds(), request.getStatus(), userService.getCurrentUser())));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/posts/deactivate")
+    public ResponseEntity<?> deactivatePosts(@RequestBody BulkPostsDto request) {
+        try {
+            return ResponseEntity.accepted().body(BulkJobResponse.from(bulkModerationService.deactivatePosts(
+                    request.getPostIds(), userService.getCurrentUser())));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/users/{userId}/deactivate")
+    public ResponseEntity<?> deactivateUser(@PathVariable Long userId) {
+        try {
+            return ResponseEntity.accepted().body(BulkJobResponse.from(bulkModerationService.deactivateUser(
+                    userId, userService.getCurrentUser())));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(BulkJobResponse.from(bulkModerationService.getJob(jobId, userService.getCurrentUser())));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+}
@@ -1,10 +1,22 @@
 package com.tangle.controller;
 
+import com.tangle.cache.CompressedResponseCache;
+import com.tangle.dto.CommentResponse;
+import com.tangle.dto.ContentVersion;
+import com.tangle.dto.ErrorResponse;
+import com.tangle.dto.MessageResponse;
+import com.tangle.dto.NearbyResponse;
+import com.tangle.dto.PageResponse;
+import com.tangle.dto.PostCreatedResponse;
 import com.tangle.dto.PostDto;
+import com.tangle.dto.PostResponse;
 import com.tangle.entity.Post;
 import com.tangle.entity.PostCategory;
 import com.tangle.entity.PostType;
+import com.tangle.entity.Community;
 import com.tangle.entity.User;
+import com.tangle.geo.GeoGrid;
+import com.tangle.service.ContentVersionService;
 import com.tangle.service.PostService;
 import com.tangle.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,9 +24,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/posts")
@@ -27,22 +42,20 @@ public class PostController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private CompressedResponseCache compressedResponseCache;
+
     @PostMapping
     public ResponseEntity<?> createPost(@RequestBody PostDto postDto) {
         try {
             User currentUser = userService.getCurrentUser();
             Post post = postService.createPost(postDto, currentUser);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Post created successfully");
-            response.put("postId", post.getId());
-            response.put("title", post.getTitle());
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new PostCreatedResponse("Post created successfully", post.getId(), post.getTitle()));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -51,10 +64,18 @@ public class PostController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String search
+            @RequestParam(required = false) String search,
+            WebRequest webRequest
     ) {
         try {
             User currentUser = userService.getCurrentUser();
+            Long communityId = currentUser.getCommunity().getId();
+            ContentVersion version = contentVersionService.getFeedVersion(communityId);
+            if (webRequest.checkNotModified(version.toETag("posts", communityId, page, size, category, search, compressedResponseCache.negotiate(webRequest)),
+                    version.getLastModifiedMillis())) {
+                return null;
+            }
+            
             PageRequest pageRequest = PageRequest.of(page, size);
             
             Page<Post> posts;
@@ -67,23 +88,59 @@ public class PostController {
                 posts = postService.getPostsByCommunity(currentUser.getCommunity().getId(), pageRequest);
             }
             
-            return ResponseEntity.ok(posts);
+            return ResponseEntity.ok(PageResponse.of(posts, toResponses(posts.getContent())));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Posts of the user's community within radiusKm of the point, nearest first. Without
+     * a point, searches around the community's own location.
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyPosts(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            Community community = userService.getCurrentUser().getCommunity();
+            if (lat == null || lng == null) {
+                lat = community.getLatitude();
+                lng = community.getLongitude();
+            }
+            if (lat == null || lng == null) {
+                throw new RuntimeException("Location is required");
+            }
+            Page<GeoGrid.Hit<Post>> hits = postService.searchPostsNearby(community.getId(), lat, lng, radiusKm,
+                    PageRequest.of(page, size));
+            List<Post> posts = hits.getContent().stream().map(GeoGrid.Hit::value).collect(Collectors.toList());
+            List<PostResponse> responses = toResponses(posts);
+            List<NearbyResponse<PostResponse>> content = new ArrayList<>();
+            for (int i = 0; i < responses.size(); i++) {
+                content.add(new NearbyResponse<>(responses.get(i), hits.getContent().get(i).distanceKm()));
+            }
+            return ResponseEntity.ok(PageResponse.of(hits, content));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getPost(@PathVariable Long id) {
+    public ResponseEntity<?> getPost(@PathVariable Long id, WebRequest webRequest) {
         try {
+            ContentVersion version = contentVersionService.getPostVersion(id);
+            if (version != null && webRequest.checkNotModified(version.toETag("post", id, compressedResponseCache.negotiate(webRequest)),
+                    version.getLastModifiedMillis())) {
+                return null;
+            }
             Post post = postService.getPostById(id);
-            return ResponseEntity.ok(post);
+            return ResponseEntity.ok(PostResponse.from(post, postService.getCommentCount(id)));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -91,11 +148,9 @@ public class PostController {
     public ResponseEntity<?> getMyPosts() {
         try {
             User currentUser = userService.getCurrentUser();
-            return ResponseEntity.ok(postService.getPostsByUser(currentUser.getId()));
+            return ResponseEntity.ok(toResponses(postService.getPostsByUser(currentUser.getId())));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -103,12 +158,9 @@ public class PostController {
     public ResponseEntity<?> getPostStats() {
         try {
             User currentUser = userService.getCurrentUser();
-            Map<String, Object> stats = postService.getPostStats(currentUser.getCommunity().getId());
-            return ResponseEntity.ok(stats);
+            return ResponseEntity.ok(postService.getPostStats(currentUser.getCommunity().getId()));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -117,22 +169,24 @@ public class PostController {
         try {
             User currentUser = userService.getCurrentUser();
             String content = request.get("content");
-            return ResponseEntity.ok(postService.addComment(id, content, currentUser));
+            return ResponseEntity.ok(CommentResponse.from(postService.addComment(id, content, currentUser)));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
     @GetMapping("/{id}/comments")
-    public ResponseEntity<?> getComments(@PathVariable Long id) {
+    public ResponseEntity<?> getComments(@PathVariable Long id, WebRequest webRequest) {
         try {
-            return ResponseEntity.ok(postService.getCommentsByPost(id));
+            ContentVersion version = contentVersionService.getCommentsVersion(id);
+            if (webRequest.checkNotModified(version.toETag("comments", id, compressedResponseCache.negotiate(webRequest)), version.getLastModifiedMillis())) {
+                return null;
+            }
+            return ResponseEntity.ok(postService.getCommentsByPost(id).stream()
+                    .map(CommentResponse::from)
+                    .collect(Collectors.toList()));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -143,14 +197,17 @@ public class PostController {
             String reason = request.get("reason");
             String type = request.get("type");
             postService.reportPost(id, reason, type, currentUser);
-            
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Post reported successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new MessageResponse("Post reported successfully"));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
+
+    private List<PostResponse> toResponses(List<Post> posts) {
+        Map<Long, Long> commentCounts = postService.getCommentCounts(
+                posts.stream().map(Post::getId).collect(Collectors.toList()));
+        return posts.stream()
+                .map(post -> PostResponse.from(post, commentCounts.getOrDefault(post.getId(), 0L)))
+                .collect(Collectors.toList());
+    }
 } 
\ No newline at end of file
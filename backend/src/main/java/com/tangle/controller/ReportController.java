@@ -1,13 +1,28 @@
 package com.tangle.controller;
 
+import com.tangle.dto.ErrorResponse;
+import com.tangle.dto.ModerationActionResponse;
+import com.tangle.dto.ModerationCaseResponse;
+import com.tangle.dto.PageResponse;
+import com.tangle.dto.ReportResponse;
+import com.tangle.entity.ModerationAction;
 import com.tangle.entity.Report;
+import com.tangle.entity.User;
+import com.tangle.service.AutoHideService;
+import com.tangle.service.ModerationService;
 import com.tangle.service.ReportService;
+import com.tangle.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/reports")
@@ -17,33 +32,95 @@ public class ReportController {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private ModerationService moderationService;
+
+    @Autowired
+    private AutoHideService autoHideService;
+
+    @Autowired
+    private UserService userService;
+
     @PostMapping
-    public ResponseEntity<Report> createReport(@RequestBody Report report, Authentication authentication) {
-        return ResponseEntity.ok(reportService.createReport(report, authentication.getName()));
+    public ResponseEntity<ReportResponse> createReport(@RequestBody Report report, Authentication authentication) {
+        return ResponseEntity.ok(ReportResponse.from(reportService.createReport(report, authentication.getName())));
     }
 
     @GetMapping
-    public ResponseEntity<List<Report>> getAllReports() {
-        return ResponseEntity.ok(reportService.getAllReports());
+    public ResponseEntity<PageResponse<ReportResponse>> getAllReports(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String status
+    ) {
+        Page<Report> reports = reportService.getReports(status, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
+        return ResponseEntity.ok(PageResponse.of(reports, toResponses(reports.getContent())));
+    }
+
+    /**
+     * Open reports of the current moderator's community grouped per reported post or
+     * user, highest priority first.
+     */
+    @GetMapping("/queue")
+    public ResponseEntity<?> getModerationQueue(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            User currentUser = userService.getCurrentUser();
+            userService.getModerationScope(currentUser);
+            Long communityId = currentUser.getCommunity().getId();
+            Page<ModerationCaseResponse> queue = moderationService.getQueue(communityId, PageRequest.of(page, size));
+            return ResponseEntity.ok(PageResponse.of(queue, queue.getContent()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Report> getReportById(@PathVariable Long id) {
-        return ResponseEntity.ok(reportService.getReportById(id));
+    public ResponseEntity<ReportResponse> getReportById(@PathVariable Long id) {
+        return ResponseEntity.ok(ReportResponse.from(reportService.getReportById(id)));
     }
 
     @PutMapping("/{id}/status")
-    public ResponseEntity<Report> updateReportStatus(@PathVariable Long id, @RequestParam String status) {
-        return ResponseEntity.ok(reportService.updateReportStatus(id, status));
+    public ResponseEntity<ReportResponse> updateReportStatus(@PathVariable Long id, @RequestParam String status,
+                                                             Authentication authentication) {
+        String moderatorName = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken) ? authentication.getName() : null;
+        return ResponseEntity.ok(ReportResponse.from(reportService.updateReportStatus(id, status, moderatorName)));
+    }
+
+    /**
+     * Posts hidden or restored automatically in the current user's community, newest first.
+     */
+    @GetMapping("/actions")
+    public ResponseEntity<List<ModerationActionResponse>> getModerationActions(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Long communityId = userService.getCurrentUser().getCommunity().getId();
+        return ResponseEntity.ok(toActionResponses(autoHideService.getActionsForCommunity(communityId, PageRequest.of(page, size))));
+    }
+
+    @GetMapping("/post/{postId}/actions")
+    public ResponseEntity<List<ModerationActionResponse>> getModerationActionsForPost(@PathVariable Long postId) {
+        return ResponseEntity.ok(toActionResponses(autoHideService.getActionsForPost(postId)));
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Report>> getReportsByUser(@PathVariable Long userId) {
-        return ResponseEntity.ok(reportService.getReportsByUserId(userId));
+    public ResponseEntity<List<ReportResponse>> getReportsByUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(toResponses(reportService.getReportsByUserId(userId)));
     }
 
     @GetMapping("/post/{postId}")
-    public ResponseEntity<List<Report>> getReportsByPost(@PathVariable Long postId) {
-        return ResponseEntity.ok(reportService.getReportsByPostId(postId));
+    public ResponseEntity<List<ReportResponse>> getReportsByPost(@PathVariable Long postId) {
+        return ResponseEntity.ok(toResponses(reportService.getReportsByPostId(postId)));
+    }
+
+    private List<ReportResponse> toResponses(List<Report> reports) {
+        return reports.stream().map(ReportResponse::from).collect(Collectors.toList());
+    }
+
+    private List<ModerationActionResponse> toActionResponses(List<ModerationAction> actions) {
+        return actions.stream().map(ModerationActionResponse::from).collect(Collectors.toList());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.tangle.controller;
+
+import com.tangle.dto.ErrorResponse;
+import com.tangle.dto.MoveStartedResponse;
+import com.tangle.dto.ShardStatusResponse;
+import com.tangle.entity.UserRole;
+import com.tangle.service.UserService;
+import com.tangle.shard.ShardMap;
+import com.tangle.shard.ShardRebalancer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@Lazy
+@RestController
+@RequestMapping("/admin/shards")
+public class ShardController {
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private UserService userService;
+
+    @GetMapping
+    public ResponseEntity<?> getShards() {
+        try {
+            requireAdmin();
+            return ResponseEntity.ok(new ShardStatusResponse(shardMap.getShardNames(), shardMap.getDefaultShard(),
+                    shardMap.getAssignments().values(), shardRebalancer.getStatus()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/communities/{id}/move")
+    public ResponseEntity<?> moveCommunity(@PathVariable Long id, @RequestBody Map<String, String> request) {
+        try {
+            requireAdmin();
+            String targetShard = request.get("targetShard");
+            shardRebalancer.startMove(id, targetShard);
+            return ResponseEntity.accepted().body(new MoveStartedResponse("Move started", id, targetShard));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    private void requireAdmin() {
+        if (userService.getCurrentUser().getRole() != UserRole.ADMIN) {
+            throw new RuntimeException("Admin access required");
+        }
+    }
+}
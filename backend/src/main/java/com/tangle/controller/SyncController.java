@@ -0,0 +1,34 @@
+package com.tangle.controller;
+
+import com.tangle.dto.ErrorResponse;
+import com.tangle.entity.User;
+import com.tangle.service.SyncService;
+import com.tangle.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/sync")
+@CrossOrigin(origins = "*")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private UserService userService;
+
+    @GetMapping
+    public ResponseEntity<?> sync(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        try {
+            User currentUser = userService.getCurrentUser();
+            return ResponseEntity.ok(syncService.getChangesSince(currentUser, since, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+}
@@ -4,7 +4,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
 import java.util.Map;
 
 @RestController
@@ -12,26 +11,16 @@ public class TestController {
     
     @GetMapping("/")
     public ResponseEntity<Map<String, String>> home() {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Tangle Community App Backend");
-        response.put("status", "Running");
-        response.put("version", "1.0.0");
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(Map.of("message", "Tangle Community App Backend", "status", "Running", "version", "1.0.0"));
     }
     
     @GetMapping("/api")
     public ResponseEntity<Map<String, String>> apiRoot() {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Tangle API Root");
-        response.put("endpoints", "auth, health, test");
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(Map.of("message", "Tangle API Root", "endpoints", "auth, health, test"));
     }
     
     @GetMapping("/api/test")
     public ResponseEntity<Map<String, String>> test() {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Test endpoint working!");
-        response.put("timestamp", String.valueOf(System.currentTimeMillis()));
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(Map.of("message", "Test endpoint working!", "timestamp", String.valueOf(System.currentTimeMillis())));
     }
 } 
\ No newline at end of file
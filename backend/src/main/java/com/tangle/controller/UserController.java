@@ -1,13 +1,16 @@
 package com.tangle.controller;
 
+import com.tangle.dto.ErrorResponse;
+import com.tangle.dto.ProfileUpdateResponse;
+import com.tangle.dto.UserResponse;
 import com.tangle.entity.User;
 import com.tangle.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/users")
@@ -20,12 +23,9 @@ public class UserController {
     @GetMapping("/profile")
     public ResponseEntity<?> getCurrentUser() {
         try {
-            User user = userService.getCurrentUser();
-            return ResponseEntity.ok(user);
+            return ResponseEntity.ok(UserResponse.from(userService.getCurrentUser()));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -34,16 +34,9 @@ public class UserController {
         try {
             User currentUser = userService.getCurrentUser();
             User updatedUser = userService.updateUserProfile(currentUser.getId(), request);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Profile updated successfully");
-            response.put("user", updatedUser);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new ProfileUpdateResponse("Profile updated successfully", UserResponse.from(updatedUser)));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -51,12 +44,9 @@ public class UserController {
     public ResponseEntity<?> getUserStats() {
         try {
             User currentUser = userService.getCurrentUser();
-            Map<String, Object> stats = userService.getUserStats(currentUser.getId());
-            return ResponseEntity.ok(stats);
+            return ResponseEntity.ok(userService.getUserStats(currentUser.getId()));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -64,11 +54,11 @@ public class UserController {
     public ResponseEntity<?> getCommunityUsers() {
         try {
             User currentUser = userService.getCurrentUser();
-            return ResponseEntity.ok(userService.getUsersByCommunity(currentUser.getCommunity().getId()));
+            return ResponseEntity.ok(userService.getUsersByCommunity(currentUser.getCommunity().getId()).stream()
+                    .map(UserResponse::from)
+                    .collect(Collectors.toList()));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.tangle.dto;
+
+import com.tangle.audit.AuditEventType;
+import com.tangle.audit.AuditRecord;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+public record AuditEntryResponse(
+        LocalDateTime time,
+        AuditEventType type,
+        Long actorId,
+        Long subjectId,
+        Long communityId,
+        String detail
+) {
+
+    public static AuditEntryResponse from(AuditRecord record) {
+        return new AuditEntryResponse(LocalDateTime.ofInstant(record.time(), ZoneId.systemDefault()), record.type(),
+                record.actorId(), record.subjectId(), record.communityId(), record.detail());
+    }
+}
@@ -0,0 +1,4 @@
+package com.tangle.dto;
+
+public record AuthResponse(String message, String token, String tokenType, UserResponse user) {
+}
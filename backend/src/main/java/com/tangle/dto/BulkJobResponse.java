@@ -0,0 +1,23 @@
+package com.tangle.dto;
+
+import com.tangle.moderation.BulkJob;
+
+import java.time.LocalDateTime;
+
+public record BulkJobResponse(
+        String jobId,
+        BulkJob.Type type,
+        BulkJob.State state,
+        int total,
+        int processed,
+        int changed,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {
+
+    public static BulkJobResponse from(BulkJob job) {
+        return new BulkJobResponse(job.getId(), job.getType(), job.getState(), job.getTotal(), job.getProcessed(),
+                job.getChanged(), job.getError(), job.getCreatedAt(), job.getFinishedAt());
+    }
+}
@@ -0,0 +1,18 @@
+package com.tangle.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkPostsDto {
+
+    private List<Long> postIds = new ArrayList<>();
+
+    // Getters and Setters
+    public List<Long> getPostIds() {
+        return postIds;
+    }
+
+    public void setPostIds(List<Long> postIds) {
+        this.postIds = postIds;
+    }
+}
@@ -0,0 +1,28 @@
+package com.tangle.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkReportStatusDto {
+
+    private List<Long> reportIds = new ArrayList<>();
+
+    private String status;
+
+    // Getters and Setters
+    public List<Long> getReportIds() {
+        return reportIds;
+    }
+
+    public void setReportIds(List<Long> reportIds) {
+        this.reportIds = reportIds;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
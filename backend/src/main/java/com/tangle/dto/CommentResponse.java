@@ -0,0 +1,21 @@
+package com.tangle.dto;
+
+import com.tangle.entity.Comment;
+
+import java.time.LocalDateTime;
+
+public record CommentResponse(
+        Long id,
+        String content,
+        Long postId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        UserSummary user
+) {
+
+    public static CommentResponse from(Comment comment) {
+        return new CommentResponse(comment.getId(), comment.getContent(),
+                comment.getPost() != null ? comment.getPost().getId() : null,
+                comment.getCreatedAt(), comment.getUpdatedAt(), UserSummary.from(comment.getUser()));
+    }
+}
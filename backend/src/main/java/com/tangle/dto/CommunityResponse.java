@@ -0,0 +1,29 @@
+package com.tangle.dto;
+
+import com.tangle.entity.Community;
+
+import java.time.LocalDateTime;
+
+public record CommunityResponse(
+        Long id,
+        String name,
+        String description,
+        String location,
+        Double latitude,
+        Double longitude,
+        String pincode,
+        String city,
+        String state,
+        String communityCode,
+        Boolean isActive,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    public static CommunityResponse from(Community community) {
+        return new CommunityResponse(community.getId(), community.getName(), community.getDescription(),
+                community.getLocation(), community.getLatitude(), community.getLongitude(), community.getPincode(), community.getCity(), community.getState(),
+                community.getCommunityCode(), community.getIsActive(), community.getCreatedAt(),
+                community.getUpdatedAt());
+    }
+}
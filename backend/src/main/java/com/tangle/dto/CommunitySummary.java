@@ -0,0 +1,11 @@
+package com.tangle.dto;
+
+import com.tangle.entity.Community;
+
+public record CommunitySummary(Long id, String name, String location) {
+
+    public static CommunitySummary from(Community community) {
+        return community == null ? null
+                : new CommunitySummary(community.getId(), community.getName(), community.getLocation());
+    }
+}
@@ -0,0 +1,54 @@
+package com.tangle.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Row count and latest update time of a set of rows, used to build ETag and
+ * Last-Modified headers without loading or serializing the rows themselves.
+ */
+public class ContentVersion {
+
+    private final long count;
+    private final LocalDateTime lastModified;
+
+    public ContentVersion(Long count, LocalDateTime lastModified) {
+        this.count = count != null ? count : 0;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Weak, since the same rows may go out gzipped or not; Tomcat also refuses to
+     * compress responses with a strong ETag.
+     */
+    public String toETag(Object... scope) {
+        long modified = lastModified != null
+                ? lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + lastModified.getNano()
+                : 0;
+        return "W/\"" + Integer.toHexString(Arrays.hashCode(scope)) + "-" + Long.toHexString(count) + "-" + Long.toHexString(modified) + "\"";
+    }
+
+    public long getLastModifiedMillis() {
+        if (lastModified == null) {
+            return -1;
+        }
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public ContentVersion combine(ContentVersion other) {
+        LocalDateTime latest = lastModified == null || (other.lastModified != null && other.lastModified.isAfter(lastModified))
+                ? other.lastModified
+                : lastModified;
+        return new ContentVersion(count + other.count, latest);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+}
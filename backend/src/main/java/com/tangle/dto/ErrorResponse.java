@@ -0,0 +1,12 @@
+package com.tangle.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tangle.logging.LogContext;
+
+// The request id lets a client's error report be matched to the server's log lines
+public record ErrorResponse(String error, @JsonInclude(JsonInclude.Include.NON_NULL) String requestId) {
+
+    public ErrorResponse(String error) {
+        this(error, LogContext.requestId());
+    }
+}
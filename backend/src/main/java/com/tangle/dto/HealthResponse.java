@@ -0,0 +1,4 @@
+package com.tangle.dto;
+
+public record HealthResponse(String status, String message, long timestamp, String database) {
+}
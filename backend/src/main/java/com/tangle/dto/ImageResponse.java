@@ -0,0 +1,16 @@
+package com.tangle.dto;
+
+/**
+ * A stored image. Variants are served from /images/{id}/original, /thumb and
+ * /medium; until renditionsReady the renditions fall back to the original.
+ */
+public record ImageResponse(
+        String id,
+        String contentType,
+        int width,
+        int height,
+        long sizeBytes,
+        boolean deduplicated,
+        boolean renditionsReady
+) {
+}
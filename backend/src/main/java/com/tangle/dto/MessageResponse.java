@@ -0,0 +1,4 @@
+package com.tangle.dto;
+
+public record MessageResponse(String message) {
+}
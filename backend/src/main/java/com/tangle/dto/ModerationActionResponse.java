@@ -0,0 +1,24 @@
+package com.tangle.dto;
+
+import com.tangle.entity.ModerationAction;
+import com.tangle.entity.ModerationActionType;
+
+import java.time.LocalDateTime;
+
+public record ModerationActionResponse(
+        Long id,
+        Long postId,
+        Long communityId,
+        ModerationActionType action,
+        Double score,
+        Double threshold,
+        String reportIds,
+        String trigger,
+        LocalDateTime createdAt
+) {
+
+    public static ModerationActionResponse from(ModerationAction action) {
+        return new ModerationActionResponse(action.getId(), action.getPostId(), action.getCommunityId(), action.getAction(),
+                action.getScore(), action.getThreshold(), action.getReportIds(), action.getTrigger(), action.getCreatedAt());
+    }
+}
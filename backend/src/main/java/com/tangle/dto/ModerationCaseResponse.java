@@ -0,0 +1,24 @@
+package com.tangle.dto;
+
+import com.tangle.entity.ReportType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The open reports against one post or user, as one entry of the moderation queue.
+ */
+public record ModerationCaseResponse(
+        String targetType,
+        Long targetId,
+        Long communityId,
+        double score,
+        int reportCount,
+        int reporterCount,
+        Map<ReportType, Integer> reportTypes,
+        List<Long> reportIds,
+        LocalDateTime firstReportedAt,
+        LocalDateTime lastReportedAt
+) {
+}
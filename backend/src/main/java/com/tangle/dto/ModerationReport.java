@@ -0,0 +1,26 @@
+package com.tangle.dto;
+
+import com.tangle.entity.ReportStatus;
+import com.tangle.entity.ReportType;
+import com.tangle.entity.UserRole;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a report the moderation queue and auto-hide scores are built from.
+ * The community comes from the reported post, or from the reported user for user
+ * reports.
+ */
+public record ModerationReport(
+        Long reportId,
+        ReportType type,
+        ReportStatus status,
+        Long reporterId,
+        Boolean reporterVerified,
+        UserRole reporterRole,
+        Long postId,
+        Long reportedUserId,
+        Long communityId,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,4 @@
+package com.tangle.dto;
+
+public record MoveStartedResponse(String message, Long communityId, String targetShard) {
+}
@@ -0,0 +1,7 @@
+package com.tangle.dto;
+
+/**
+ * A result of a location search with its distance from the searched point.
+ */
+public record NearbyResponse<T>(T item, double distanceKm) {
+}
@@ -0,0 +1,25 @@
+package com.tangle.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * The fields of a Spring Data page that clients use, without the pageable and sort
+ * metadata Jackson would otherwise write for every page.
+ */
+public record PageResponse<T>(
+        List<T> content,
+        int number,
+        int size,
+        long totalElements,
+        int totalPages,
+        boolean first,
+        boolean last
+) {
+
+    public static <T> PageResponse<T> of(Page<?> page, List<T> content) {
+        return new PageResponse<>(content, page.getNumber(), page.getSize(), page.getTotalElements(),
+                page.getTotalPages(), page.isFirst(), page.isLast());
+    }
+}
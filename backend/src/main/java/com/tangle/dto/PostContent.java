@@ -0,0 +1,10 @@
+package com.tangle.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The text of a post and who posted it where, loaded to fingerprint recent posts.
+ */
+public record PostContent(Long postId, Long userId, Long communityId, String title, String description,
+                          LocalDateTime createdAt) {
+}
@@ -0,0 +1,4 @@
+package com.tangle.dto;
+
+public record PostCreatedResponse(String message, Long postId, String title) {
+}
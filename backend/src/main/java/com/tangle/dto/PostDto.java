@@ -3,6 +3,9 @@ package com.tangle.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class PostDto {
     
     @NotBlank(message = "Title is required")
@@ -23,7 +26,14 @@ public class PostDto {
     
     private String location;
     
-    private String images;
+    private Double latitude;
+    
+    private Double longitude;
+    
+    private List<String> imageIds = new ArrayList<>();
+    
+    // Replaced by imageIds; only read to reject clients still sending image URLs
+    private Object images;
     
     private Boolean isUrgent = false;
     
@@ -86,11 +96,35 @@ public class PostDto {
         this.location = location;
     }
     
-    public String getImages() {
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
+    public List<String> getImageIds() {
+        return imageIds;
+    }
+    
+    public void setImageIds(List<String> imageIds) {
+        this.imageIds = imageIds;
+    }
+    
+    public Object getImages() {
         return images;
     }
     
-    public void setImages(String images) {
+    public void setImages(Object images) {
         this.images = images;
     }
     
@@ -0,0 +1,7 @@
+package com.tangle.dto;
+
+/**
+ * The coordinates of a post, loaded without the post itself to build the geo index.
+ */
+public record PostLocation(Long postId, Long communityId, Double latitude, Double longitude) {
+}
@@ -0,0 +1,46 @@
+package com.tangle.dto;
+
+import com.tangle.entity.Post;
+import com.tangle.entity.PostCategory;
+import com.tangle.entity.PostType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A post as returned by the API. Comments are loaded separately, so only their
+ * count is included. Images are ids of stored images, fetched from
+ * /images/{id}/{variant}, except in posts from before uploads, which list image URLs.
+ */
+public record PostResponse(
+        Long id,
+        String title,
+        String description,
+        PostCategory category,
+        PostType type,
+        String contactInfo,
+        Double price,
+        String location,
+        Double latitude,
+        Double longitude,
+        List<String> images,
+        Boolean isUrgent,
+        Boolean isFeatured,
+        Integer viewCount,
+        long commentCount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long communityId,
+        UserSummary user
+) {
+
+    public static PostResponse from(Post post, long commentCount) {
+        return new PostResponse(post.getId(), post.getTitle(), post.getDescription(), post.getCategory(),
+                post.getType(), post.getContactInfo(), post.getPrice(), post.getLocation(),
+                post.getLatitude(), post.getLongitude(), post.getImages() != null ? post.getImages() : List.of(),
+                post.getIsUrgent(), post.getIsFeatured(), post.getViewCount(), commentCount,
+                post.getCreatedAt(), post.getUpdatedAt(),
+                post.getCommunity() != null ? post.getCommunity().getId() : null,
+                UserSummary.from(post.getUser()));
+    }
+}
@@ -0,0 +1,4 @@
+package com.tangle.dto;
+
+public record PostStatsResponse(long totalPosts, long myPosts, long urgentPosts, long communityMembers) {
+}
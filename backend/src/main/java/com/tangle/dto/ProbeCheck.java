@@ -0,0 +1,4 @@
+package com.tangle.dto;
+
+public record ProbeCheck(String name, boolean up, String detail) {
+}
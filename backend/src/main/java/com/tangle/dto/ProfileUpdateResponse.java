@@ -0,0 +1,4 @@
+package com.tangle.dto;
+
+public record ProfileUpdateResponse(String message, UserResponse user) {
+}
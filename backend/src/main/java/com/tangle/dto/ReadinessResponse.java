@@ -0,0 +1,6 @@
+package com.tangle.dto;
+
+import java.util.List;
+
+public record ReadinessResponse(String status, long timestamp, List<ProbeCheck> checks) {
+}
@@ -0,0 +1,4 @@
+package com.tangle.dto;
+
+public record RegistrationResponse(String message, Long userId, String fullName, String email, String phoneNumber) {
+}
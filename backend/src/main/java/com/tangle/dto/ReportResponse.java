@@ -0,0 +1,30 @@
+package com.tangle.dto;
+
+import com.tangle.entity.Report;
+import com.tangle.entity.ReportStatus;
+import com.tangle.entity.ReportType;
+
+import java.time.LocalDateTime;
+
+public record ReportResponse(
+        Long id,
+        String reason,
+        ReportType type,
+        ReportStatus status,
+        String adminNotes,
+        Long reporterId,
+        Long reportedUserId,
+        Long postId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    public static ReportResponse from(Report report) {
+        return new ReportResponse(report.getId(), report.getReason(), report.getType(), report.getStatus(),
+                report.getAdminNotes(),
+                report.getReporter() != null ? report.getReporter().getId() : null,
+                report.getReportedUser() != null ? report.getReportedUser().getId() : null,
+                report.getPost() != null ? report.getPost().getId() : null,
+                report.getCreatedAt(), report.getUpdatedAt());
+    }
+}
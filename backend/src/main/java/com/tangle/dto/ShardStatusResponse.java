@@ -0,0 +1,15 @@
+package com.tangle.dto;
+
+import com.tangle.entity.ShardAssignment;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public record ShardStatusResponse(
+        Set<String> shards,
+        String defaultShard,
+        Collection<ShardAssignment> assignments,
+        Map<Long, String> moves
+) {
+}
@@ -0,0 +1,20 @@
+package com.tangle.dto;
+
+import com.tangle.entity.ChangeType;
+
+import java.util.List;
+
+public record SyncResponse(
+        List<PostResponse> posts,
+        List<CommentResponse> comments,
+        List<ReportResponse> reports,
+        List<Tombstone> tombstones,
+        String nextToken,
+        boolean hasMore,
+        // The token was older than the retained change log: reload from the feed, then sync from nextToken
+        boolean resync
+) {
+
+    public record Tombstone(ChangeType type, Long id) {
+    }
+}
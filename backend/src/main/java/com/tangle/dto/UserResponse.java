@@ -0,0 +1,28 @@
+package com.tangle.dto;
+
+import com.tangle.entity.User;
+import com.tangle.entity.UserRole;
+
+import java.time.LocalDateTime;
+
+public record UserResponse(
+        Long id,
+        String fullName,
+        String email,
+        String phoneNumber,
+        UserRole role,
+        String address,
+        String locality,
+        String pincode,
+        Boolean isVerified,
+        String profilePicture,
+        LocalDateTime createdAt,
+        CommunitySummary community
+) {
+
+    public static UserResponse from(User user) {
+        return new UserResponse(user.getId(), user.getFullName(), user.getEmail(), user.getPhoneNumber(),
+                user.getRole(), user.getAddress(), user.getLocality(), user.getPincode(), user.getIsVerified(),
+                user.getProfilePicture(), user.getCreatedAt(), CommunitySummary.from(user.getCommunity()));
+    }
+}
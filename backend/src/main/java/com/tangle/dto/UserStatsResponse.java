@@ -0,0 +1,4 @@
+package com.tangle.dto;
+
+public record UserStatsResponse(long totalPosts, long totalViews, long totalComments) {
+}
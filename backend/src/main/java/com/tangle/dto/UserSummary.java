@@ -0,0 +1,14 @@
+package com.tangle.dto;
+
+import com.tangle.entity.User;
+
+/**
+ * Author details embedded in posts and comments.
+ */
+public record UserSummary(Long id, String fullName, String profilePicture, Boolean isVerified) {
+
+    public static UserSummary from(User user) {
+        return user == null ? null
+                : new UserSummary(user.getId(), user.getFullName(), user.getProfilePicture(), user.getIsVerified());
+    }
+}
@@ -0,0 +1,259 @@
+package com.tangle.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@Table(name = "posts_archive", indexes = {
+    @Index(name = "idx_posts_archive_community_created", columnList = "community_id, created_at")
+})
+public class ArchivedPost {
+    
+    // Keeps the id the post had in the hot table
+    @Id
+    private Long id;
+    
+    private String title;
+    
+    @Column(length = 2000)
+    private String description;
+    
+    @Enumerated(EnumType.STRING)
+    private PostCategory category;
+    
+    @Enumerated(EnumType.STRING)
+    private PostType type;
+    
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "community_id")
+    private Long communityId;
+    
+    @Column(name = "contact_info")
+    private String contactInfo;
+    
+    @Column(name = "price")
+    private Double price;
+    
+    @Column(name = "location")
+    private String location;
+    
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "images")
+    private List<String> images;
+    
+    @Column(name = "is_urgent")
+    private Boolean isUrgent;
+    
+    @Column(name = "is_featured")
+    private Boolean isFeatured;
+    
+    @Column(name = "is_active")
+    private Boolean isActive;
+    
+    @Column(name = "view_count")
+    private Integer viewCount;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+    
+    public Post toPost() {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle(title);
+        post.setDescription(description);
+        post.setCategory(category);
+        post.setType(type);
+        post.setContactInfo(contactInfo);
+        post.setPrice(price);
+        post.setLocation(location);
+        post.setLatitude(latitude);
+        post.setLongitude(longitude);
+        post.setImages(images);
+        post.setIsUrgent(isUrgent);
+        post.setIsFeatured(isFeatured);
+        post.setIsActive(isActive);
+        post.setViewCount(viewCount);
+        post.setCreatedAt(createdAt);
+        post.setUpdatedAt(updatedAt);
+        return post;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public PostCategory getCategory() {
+        return category;
+    }
+    
+    public void setCategory(PostCategory category) {
+        this.category = category;
+    }
+    
+    public PostType getType() {
+        return type;
+    }
+    
+    public void setType(PostType type) {
+        this.type = type;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getCommunityId() {
+        return communityId;
+    }
+    
+    public void setCommunityId(Long communityId) {
+        this.communityId = communityId;
+    }
+    
+    public String getContactInfo() {
+        return contactInfo;
+    }
+    
+    public void setContactInfo(String contactInfo) {
+        this.contactInfo = contactInfo;
+    }
+    
+    public Double getPrice() {
+        return price;
+    }
+    
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+    
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
+    public List<String> getImages() {
+        return images;
+    }
+    
+    public void setImages(List<String> images) {
+        this.images = images;
+    }
+    
+    public Boolean getIsUrgent() {
+        return isUrgent;
+    }
+    
+    public void setIsUrgent(Boolean isUrgent) {
+        this.isUrgent = isUrgent;
+    }
+    
+    public Boolean getIsFeatured() {
+        return isFeatured;
+    }
+    
+    public void setIsFeatured(Boolean isFeatured) {
+        this.isFeatured = isFeatured;
+    }
+    
+    public Boolean getIsActive() {
+        return isActive;
+    }
+    
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+    
+    public Integer getViewCount() {
+        return viewCount;
+    }
+    
+    public void setViewCount(Integer viewCount) {
+        this.viewCount = viewCount;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+    
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
@@ -0,0 +1,99 @@
+package com.tangle.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "change_log", indexes = {
+    @Index(name = "idx_change_log_community_seq", columnList = "community_id, id")
+})
+public class ChangeLogEntry {
+    
+    // Auto-increment id doubles as the sync sequence number
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private ChangeType entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Column(name = "community_id")
+    private Long communityId;
+    
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false)
+    private ChangeOperation operation;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public ChangeType getEntityType() {
+        return entityType;
+    }
+    
+    public void setEntityType(ChangeType entityType) {
+        this.entityType = entityType;
+    }
+    
+    public Long getEntityId() {
+        return entityId;
+    }
+    
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+    
+    public Long getCommunityId() {
+        return communityId;
+    }
+    
+    public void setCommunityId(Long communityId) {
+        this.communityId = communityId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+    
+    public void setOperation(ChangeOperation operation) {
+        this.operation = operation;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,53 @@
+package com.tangle.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// A single row per shard: change log entries up to purgedThrough have been deleted by retention
+@Entity
+@Table(name = "change_log_horizon")
+public class ChangeLogHorizon {
+
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id = ID;
+
+    @Column(name = "purged_through", nullable = false)
+    private Long purgedThrough = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPurgedThrough() {
+        return purgedThrough;
+    }
+
+    public void setPurgedThrough(Long purgedThrough) {
+        this.purgedThrough = purgedThrough;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
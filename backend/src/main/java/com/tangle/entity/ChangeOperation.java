@@ -0,0 +1,6 @@
+package com.tangle.entity;
+
+public enum ChangeOperation {
+    UPSERT,
+    DELETE
+}
@@ -0,0 +1,7 @@
+package com.tangle.entity;
+
+public enum ChangeType {
+    POST,
+    COMMENT,
+    REPORT
+}
@@ -3,11 +3,16 @@ package com.tangle.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Filter;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    @Index(name = "idx_comments_active_post_created", columnList = "is_active, post_id, created_at"),
+    @Index(name = "idx_comments_active_user", columnList = "is_active, user_id")
+})
+@Filter(name = "activeFilter")
 public class Comment {
     
     @Id
@@ -3,13 +3,18 @@ package com.tangle.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Filter;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "communities")
+@Table(name = "communities", indexes = {
+    @Index(name = "idx_communities_active_city", columnList = "is_active, city"),
+    @Index(name = "idx_communities_active_pincode", columnList = "is_active, pincode")
+})
+@Filter(name = "activeFilter")
 public class Community {
     
     @Id
@@ -27,6 +32,12 @@ public class Community {
     @Column(name = "location")
     private String location;
     
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
     @Column(name = "pincode")
     private String pincode;
     
@@ -49,9 +60,11 @@ public class Community {
     private LocalDateTime updatedAt;
     
     @OneToMany(mappedBy = "community", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Filter(name = "activeFilter")
     private List<User> users = new ArrayList<>();
     
     @OneToMany(mappedBy = "community", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Filter(name = "activeFilter")
     private List<Post> posts = new ArrayList<>();
     
     @PrePersist
@@ -98,6 +111,22 @@ public class Community {
         this.location = location;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     public String getPincode() {
         return pincode;
     }
@@ -0,0 +1,127 @@
+package com.tangle.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit trail of posts hidden or restored automatically by report thresholds, for
+ * moderators reviewing the reports.
+ */
+@Entity
+@Table(name = "moderation_actions", indexes = {
+    @Index(name = "idx_moderation_actions_post", columnList = "post_id, id"),
+    @Index(name = "idx_moderation_actions_community", columnList = "community_id, id")
+})
+public class ModerationAction {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+    
+    @Column(name = "community_id")
+    private Long communityId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false)
+    private ModerationActionType action;
+    
+    // Weighted report score and the threshold it was compared against
+    @Column(name = "score")
+    private Double score;
+    
+    @Column(name = "threshold")
+    private Double threshold;
+    
+    // Comma-separated ids of the reports counted in the score
+    @Column(name = "report_ids", length = 2000)
+    private String reportIds;
+    
+    // What caused the evaluation, e.g. "report 12 DISMISSED"
+    @Column(name = "trigger_event")
+    private String trigger;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getPostId() {
+        return postId;
+    }
+    
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+    
+    public Long getCommunityId() {
+        return communityId;
+    }
+    
+    public void setCommunityId(Long communityId) {
+        this.communityId = communityId;
+    }
+    
+    public ModerationActionType getAction() {
+        return action;
+    }
+    
+    public void setAction(ModerationActionType action) {
+        this.action = action;
+    }
+    
+    public Double getScore() {
+        return score;
+    }
+    
+    public void setScore(Double score) {
+        this.score = score;
+    }
+    
+    public Double getThreshold() {
+        return threshold;
+    }
+    
+    public void setThreshold(Double threshold) {
+        this.threshold = threshold;
+    }
+    
+    public String getReportIds() {
+        return reportIds;
+    }
+    
+    public void setReportIds(String reportIds) {
+        this.reportIds = reportIds;
+    }
+    
+    public String getTrigger() {
+        return trigger;
+    }
+    
+    public void setTrigger(String trigger) {
+        this.trigger = trigger;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.tangle.entity;
+
+public enum ModerationActionType {
+    QUARANTINED,
+    RELEASED
+}
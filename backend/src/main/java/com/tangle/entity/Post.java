@@ -3,13 +3,22 @@ package com.tangle.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_active_community_created", columnList = "is_active, community_id, created_at"),
+    @Index(name = "idx_posts_active_community_category", columnList = "is_active, community_id, category"),
+    @Index(name = "idx_posts_active_user", columnList = "is_active, user_id"),
+    @Index(name = "idx_posts_quarantined", columnList = "quarantined_at")
+})
+@Filter(name = "activeFilter")
 public class Post {
     
     @Id
@@ -47,8 +56,16 @@ public class Post {
     @Column(name = "location")
     private String location;
     
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
+    // Stored image ids; posts from before uploads may hold image URLs instead
+    @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "images")
-    private String images; // JSON array of image URLs
+    private List<String> images = new ArrayList<>();
     
     @Column(name = "is_urgent")
     private Boolean isUrgent = false;
@@ -59,6 +76,10 @@ public class Post {
     @Column(name = "is_active")
     private Boolean isActive = true;
     
+    // Set while hidden automatically for crossing the report threshold
+    @Column(name = "quarantined_at")
+    private LocalDateTime quarantinedAt;
+    
     @Column(name = "view_count")
     private Integer viewCount = 0;
     
@@ -69,6 +90,7 @@ public class Post {
     private LocalDateTime updatedAt;
     
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Filter(name = "activeFilter")
     private List<Comment> comments = new ArrayList<>();
     
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -166,11 +188,27 @@ public class Post {
         this.location = location;
     }
     
-    public String getImages() {
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
+    public List<String> getImages() {
         return images;
     }
     
-    public void setImages(String images) {
+    public void setImages(List<String> images) {
         this.images = images;
     }
     
@@ -198,6 +236,14 @@ public class Post {
         this.isActive = isActive;
     }
     
+    public LocalDateTime getQuarantinedAt() {
+        return quarantinedAt;
+    }
+    
+    public void setQuarantinedAt(LocalDateTime quarantinedAt) {
+        this.quarantinedAt = quarantinedAt;
+    }
+    
     public Integer getViewCount() {
         return viewCount;
     }
@@ -7,7 +7,10 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reports")
+@Table(name = "reports", indexes = {
+    // Open reports for the moderation rebuild, and per-reporter outcome counts without touching the rows
+    @Index(name = "idx_reports_status_reporter", columnList = "status, reporter_id")
+})
 public class Report {
     
     @Id
@@ -0,0 +1,64 @@
+package com.tangle.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Lives on the default shard only; it is the directory the other shards are found through
+@Entity
+@Table(name = "shard_assignments")
+public class ShardAssignment {
+    
+    @Id
+    @Column(name = "community_id")
+    private Long communityId;
+    
+    @Column(name = "shard", nullable = false)
+    private String shard;
+    
+    // Set while the community is being moved; writes are rejected until it clears
+    @Column(name = "read_only", nullable = false)
+    private Boolean readOnly = false;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getCommunityId() {
+        return communityId;
+    }
+    
+    public void setCommunityId(Long communityId) {
+        this.communityId = communityId;
+    }
+    
+    public String getShard() {
+        return shard;
+    }
+    
+    public void setShard(String shard) {
+        this.shard = shard;
+    }
+    
+    public Boolean getReadOnly() {
+        return readOnly;
+    }
+    
+    public void setReadOnly(Boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,4 @@
+@FilterDef(name = "activeFilter", defaultCondition = "is_active = true")
+package com.tangle.entity;
+
+import org.hibernate.annotations.FilterDef;
@@ -0,0 +1,201 @@
+package com.tangle.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory point index that buckets entries into fixed lat/long cells, like a
+ * geohash prefix, so radius and k-nearest queries only look at the cells around
+ * the query point instead of every entry. Reads are lock-free; writes are
+ * serialized. Distances are great-circle kilometres.
+ */
+public class GeoGrid<T> {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final double KM_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_KM;
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+
+    private final Map<Long, Map<Long, Entry<T>>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Entry<T>> entries = new ConcurrentHashMap<>();
+
+    public GeoGrid(double cellDegrees) {
+        if (!(cellDegrees > 0 && cellDegrees <= 90)) {
+            throw new IllegalArgumentException("Cell size must be between 0 and 90 degrees");
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    public record Hit<T>(T value, double distanceKm) {
+    }
+
+    private record Entry<T>(Long id, T value, double latitude, double longitude, long cell) {
+    }
+
+    public static void requireValid(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new RuntimeException("Invalid coordinates: " + latitude + ", " + longitude);
+        }
+    }
+
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLat = Math.toRadians(latitude2 - latitude1);
+        double dLng = Math.toRadians(longitude2 - longitude1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * Math.pow(Math.sin(dLng / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Adds the entry, replacing any earlier entry with the same id.
+     */
+    public synchronized void put(Long id, T value, double latitude, double longitude) {
+        requireValid(latitude, longitude);
+        Entry<T> entry = new Entry<>(id, value, latitude, longitude, cell(row(latitude), column(longitude)));
+        Entry<T> previous = entries.put(id, entry);
+        if (previous != null && previous.cell != entry.cell) {
+            removeFromCell(previous);
+        }
+        cells.computeIfAbsent(entry.cell, cell -> new ConcurrentHashMap<>()).put(id, entry);
+    }
+
+    public synchronized void remove(Long id) {
+        Entry<T> previous = entries.remove(id);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Entries within the radius, nearest first.
+     */
+    public List<Hit<T>> within(double latitude, double longitude, double radiusKm) {
+        requireValid(latitude, longitude);
+        Bounds bounds = bounds(latitude, longitude, radiusKm);
+        List<Hit<T>> hits = new ArrayList<>();
+        for (int row = bounds.minRow; row <= bounds.maxRow; row++) {
+            for (int column = bounds.minColumn; column <= bounds.maxColumn; column++) {
+                for (Entry<T> entry : cellEntries(row, column)) {
+                    double distance = distanceKm(latitude, longitude, entry.latitude, entry.longitude);
+                    if (distance <= radiusKm) {
+                        hits.add(new Hit<>(entry.value, distance));
+                    }
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    /**
+     * Up to k entries within the radius, nearest first. Visits rings of cells outwards
+     * from the query point and stops once no unvisited cell can be closer than the
+     * k-th hit.
+     */
+    public List<Hit<T>> nearest(double latitude, double longitude, int k, double maxRadiusKm) {
+        requireValid(latitude, longitude);
+        if (k <= 0) {
+            return List.of();
+        }
+        Bounds bounds = bounds(latitude, longitude, maxRadiusKm);
+        int centerRow = row(latitude);
+        int centerColumn = column(longitude);
+        int maxRing = Math.max(Math.max(centerRow - bounds.minRow, bounds.maxRow - centerRow),
+                Math.max(centerColumn - bounds.minColumn, bounds.maxColumn - centerColumn));
+
+        PriorityQueue<Hit<T>> best = new PriorityQueue<>(Comparator.comparingDouble((Hit<T> hit) -> hit.distanceKm).reversed());
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int row = Math.max(bounds.minRow, centerRow - ring); row <= Math.min(bounds.maxRow, centerRow + ring); row++) {
+                boolean edgeRow = Math.abs(row - centerRow) == ring;
+                for (int column = Math.max(bounds.minColumn, centerColumn - ring);
+                     column <= Math.min(bounds.maxColumn, centerColumn + ring); column++) {
+                    if (!edgeRow && Math.abs(column - centerColumn) != ring) {
+                        continue;
+                    }
+                    for (Entry<T> entry : cellEntries(row, column)) {
+                        double distance = distanceKm(latitude, longitude, entry.latitude, entry.longitude);
+                        if (distance <= maxRadiusKm && (best.size() < k || distance < best.peek().distanceKm)) {
+                            best.add(new Hit<>(entry.value, distance));
+                            if (best.size() > k) {
+                                best.poll();
+                            }
+                        }
+                    }
+                }
+            }
+            if (best.size() == k && best.peek().distanceKm <= coveredKm(latitude, ring)) {
+                break;
+            }
+        }
+        List<Hit<T>> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    // Anything outside the first `ring` rings is at least this far from the query point
+    private double coveredKm(double latitude, int ring) {
+        double span = ring * cellDegrees;
+        double farthestLatitude = Math.min(90, Math.abs(latitude) + span);
+        return span * KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLatitude));
+    }
+
+    /**
+     * The cells covering the radius around the point. Columns are unwrapped (they may
+     * run below 0 or past the last column) and wrap around the antimeridian on lookup.
+     */
+    private Bounds bounds(double latitude, double longitude, double radiusKm) {
+        double latitudeSpan = radiusKm / KM_PER_DEGREE;
+        int minRow = row(Math.max(-90, latitude - latitudeSpan));
+        int maxRow = row(Math.min(90, latitude + latitudeSpan));
+
+        double farthestLatitude = Math.abs(latitude) + latitudeSpan;
+        double cos = farthestLatitude >= 90 ? 0 : Math.cos(Math.toRadians(farthestLatitude));
+        double longitudeSpan = cos > 0 ? latitudeSpan / cos : 360;
+        if (longitudeSpan >= 180) {
+            int firstColumn = column(longitude) - columns / 2;
+            return new Bounds(minRow, maxRow, firstColumn, firstColumn + columns - 1);
+        }
+        return new Bounds(minRow, maxRow, column(longitude - longitudeSpan), column(longitude + longitudeSpan));
+    }
+
+    private Iterable<Entry<T>> cellEntries(int row, int column) {
+        Map<Long, Entry<T>> cell = cells.get(cell(row, column));
+        return cell != null ? cell.values() : List.of();
+    }
+
+    private void removeFromCell(Entry<T> entry) {
+        cells.computeIfPresent(entry.cell, (cell, members) -> {
+            members.remove(entry.id);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, (int) Math.floor((latitude + 90) / cellDegrees));
+    }
+
+    // Unwrapped: longitude 180 gives the column past the last, which wraps to 0
+    private int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellDegrees);
+    }
+
+    private long cell(int row, int column) {
+        return (long) row * columns + Math.floorMod(column, columns);
+    }
+
+    private record Bounds(int minRow, int maxRow, int minColumn, int maxColumn) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.tangle.geo;
+
+import com.tangle.cache.RebuildableIndex;
+import com.tangle.dto.CommunityResponse;
+import com.tangle.dto.PostLocation;
+import com.tangle.entity.Community;
+import com.tangle.health.Warmable;
+import com.tangle.repository.CommunityRepository;
+import com.tangle.repository.PostRepository;
+import com.tangle.shard.ShardMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Located communities and posts, indexed in memory at startup. Writes on this
+ * instance are applied immediately; a periodic rebuild picks up writes made on
+ * other instances and drops posts that were hidden, archived or moved. Posts are
+ * indexed per community since post searches never cross communities.
+ */
+@Component
+public class GeoIndex implements Warmable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeoIndex.class);
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Value("${app.geo.cell-degrees:0.05}")
+    private double cellDegrees;
+
+    private RebuildableIndex<Grids> index;
+
+    private record Grids(GeoGrid<CommunityResponse> communities, Map<Long, GeoGrid<Long>> posts) {
+    }
+
+    @PostConstruct
+    public void init() {
+        index = new RebuildableIndex<>(new Grids(new GeoGrid<>(cellDegrees), new ConcurrentHashMap<>()));
+    }
+
+    // Once the context is up, so shard routing and any schema or data initialization are in place
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Override
+    public String getWarmupName() {
+        return "geo-index";
+    }
+
+    @Override
+    public boolean isWarm() {
+        return index.isWarm();
+    }
+
+    @Scheduled(fixedDelayString = "${app.geo.rebuild-ms:600000}", initialDelayString = "${app.geo.rebuild-ms:600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Grids grids = index.rebuild(() -> {
+            GeoGrid<CommunityResponse> newCommunities = new GeoGrid<>(cellDegrees);
+            for (Community community : shardMap.collectFromEachShard(communityRepository::findLocated, Community::getId)) {
+                newCommunities.put(community.getId(), CommunityResponse.from(community),
+                        community.getLatitude(), community.getLongitude());
+            }
+            Map<Long, GeoGrid<Long>> newPosts = new ConcurrentHashMap<>();
+            List<PostLocation> locations = shardMap.collectFromEachShard(postRepository::findLocations, PostLocation::communityId);
+            for (PostLocation location : locations) {
+                putPost(newPosts, location.communityId(), location.postId(), location.latitude(), location.longitude());
+            }
+            return new Grids(newCommunities, newPosts);
+        });
+        logger.info("Geo index rebuilt with {} communities and {} posts in {} ms",
+                grids.communities().size(), grids.posts().values().stream().mapToInt(GeoGrid::size).sum(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Coordinates are optional, but must come as a valid pair.
+     */
+    public static void requireCoordinates(Double latitude, Double longitude) {
+        if (latitude == null && longitude == null) {
+            return;
+        }
+        if (latitude == null || longitude == null) {
+            throw new RuntimeException("Latitude and longitude must be given together");
+        }
+        GeoGrid.requireValid(latitude, longitude);
+    }
+
+    public void indexCommunity(Community community) {
+        if (community.getLatitude() == null || community.getLongitude() == null) {
+            index.write(grids -> grids.communities().remove(community.getId()));
+            return;
+        }
+        CommunityResponse response = CommunityResponse.from(community);
+        index.write(grids -> grids.communities().put(community.getId(), response, community.getLatitude(), community.getLongitude()));
+    }
+
+    public void indexPost(Long postId, Long communityId, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            removePost(postId, communityId);
+            return;
+        }
+        index.write(grids -> putPost(grids.posts(), communityId, postId, latitude, longitude));
+    }
+
+    public void removePost(Long postId, Long communityId) {
+        index.write(grids -> {
+            GeoGrid<Long> grid = grids.posts().get(communityId);
+            if (grid != null) {
+                grid.remove(postId);
+            }
+        });
+    }
+
+    public List<GeoGrid.Hit<CommunityResponse>> nearestCommunities(double latitude, double longitude, int k, double maxRadiusKm) {
+        return index.get().communities().nearest(latitude, longitude, k, maxRadiusKm);
+    }
+
+    /**
+     * Ids of the community's posts within the radius, nearest first.
+     */
+    public List<GeoGrid.Hit<Long>> postsWithin(Long communityId, double latitude, double longitude, double radiusKm) {
+        GeoGrid<Long> grid = index.get().posts().get(communityId);
+        if (grid == null) {
+            GeoGrid.requireValid(latitude, longitude);
+            return List.of();
+        }
+        return grid.within(latitude, longitude, radiusKm);
+    }
+
+    private void putPost(Map<Long, GeoGrid<Long>> index, Long communityId, Long postId, double latitude, double longitude) {
+        index.computeIfAbsent(communityId, id -> new GeoGrid<>(cellDegrees)).put(postId, postId, latitude, longitude);
+    }
+}
@@ -0,0 +1,128 @@
+package com.tangle.health;
+
+import com.tangle.shard.ShardContext;
+import com.tangle.shard.ShardMap;
+import com.tangle.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks each shard's connectivity with {@link Connection#isValid} on a timer and keeps
+ * the last result, so probes read a cached answer instead of touching the database.
+ * The check runs on its own thread: with the pool exhausted it can wait for a
+ * connection, and that must not hold up the shared scheduler.
+ */
+@Component
+public class DatabaseProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseProbe.class);
+
+    public record Result(boolean up, long checkedAt, long latencyMs, String error) {
+    }
+
+    public record PoolStats(int active, int idle, int total, int waiting) {
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private HealthProperties properties;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "db-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<String, Result> results = Map.of();
+
+    @PostConstruct
+    public void init() {
+        executor.scheduleWithFixedDelay(this::checkAll, 0, properties.getDbCheckMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The last result per shard; an empty map until the first check has finished.
+     */
+    public Map<String, Result> getResults() {
+        return results;
+    }
+
+    public boolean isStale(Result result) {
+        return System.currentTimeMillis() - result.checkedAt() > properties.getStaleAfterMs();
+    }
+
+    /**
+     * Live pool counters per shard, or an empty map when the pool is not Hikari.
+     * These are plain reads of the pool's counters.
+     */
+    public Map<String, PoolStats> getPoolStats() {
+        Map<String, PoolStats> stats = new LinkedHashMap<>();
+        for (String shard : shardMap.getShardNames()) {
+            DataSource shardDataSource = dataSource instanceof ShardRoutingDataSource routing ? routing.getShard(shard) : dataSource;
+            if (shardDataSource instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                stats.put(shard, new PoolStats(pool.getActiveConnections(), pool.getIdleConnections(),
+                        pool.getTotalConnections(), pool.getThreadsAwaitingConnection()));
+            }
+        }
+        return stats;
+    }
+
+    private void checkAll() {
+        try {
+            Map<String, Result> checked = new LinkedHashMap<>();
+            for (String shard : shardMap.getShardNames()) {
+                Result result = ShardContext.callOn(shard, this::check);
+                Result previous = results.get(shard);
+                if (previous != null && previous.up() != result.up()) {
+                    if (result.up()) {
+                        logger.info("Database shard {} is reachable again", shard);
+                    } else {
+                        logger.warn("Database shard {} is unreachable: {}", shard, result.error());
+                    }
+                }
+                checked.put(shard, result);
+            }
+            results = checked;
+        } catch (RuntimeException e) {
+            // Keep the timer alive; the previous results go stale and read as down
+            logger.error("Database health check failed", e);
+        }
+    }
+
+    private Result check() {
+        long start = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean valid = connection.isValid(properties.getDbTimeoutSeconds());
+            long now = System.currentTimeMillis();
+            return new Result(valid, now, now - start, valid ? null : "Connection is not valid");
+        } catch (Exception e) {
+            long now = System.currentTimeMillis();
+            return new Result(false, now, now - start, e.getMessage());
+        }
+    }
+}
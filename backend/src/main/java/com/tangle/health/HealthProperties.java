@@ -0,0 +1,139 @@
+package com.tangle.health;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.health")
+public class HealthProperties {
+
+    private long dbCheckMs = 5000;
+
+    private int dbTimeoutSeconds = 2;
+
+    // A result older than this means the check itself is stuck, which counts as down
+    private long staleAfterMs = 15000;
+
+    // Threads queued for a pooled connection before the instance stops taking traffic
+    private int maxWaitingThreads = 10;
+
+    private Warmup warmup = new Warmup();
+
+    public static class Warmup {
+
+        private boolean enabled = true;
+
+        private int topCommunities = 10;
+
+        // How far back posts count towards a community being busy
+        private int recentDays = 7;
+
+        private int feedPages = 3;
+
+        // Posts per feed page opened, with their comments
+        private int postsPerPage = 5;
+
+        private int rounds = 20;
+
+        // Readiness is never held back longer than this
+        private int maxSeconds = 60;
+
+        // Getters and Setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getTopCommunities() {
+            return topCommunities;
+        }
+
+        public void setTopCommunities(int topCommunities) {
+            this.topCommunities = topCommunities;
+        }
+
+        public int getRecentDays() {
+            return recentDays;
+        }
+
+        public void setRecentDays(int recentDays) {
+            this.recentDays = recentDays;
+        }
+
+        public int getFeedPages() {
+            return feedPages;
+        }
+
+        public void setFeedPages(int feedPages) {
+            this.feedPages = feedPages;
+        }
+
+        public int getPostsPerPage() {
+            return postsPerPage;
+        }
+
+        public void setPostsPerPage(int postsPerPage) {
+            this.postsPerPage = postsPerPage;
+        }
+
+        public int getRounds() {
+            return rounds;
+        }
+
+        public void setRounds(int rounds) {
+            this.rounds = rounds;
+        }
+
+        public int getMaxSeconds() {
+            return maxSeconds;
+        }
+
+        public void setMaxSeconds(int maxSeconds) {
+            this.maxSeconds = maxSeconds;
+        }
+    }
+
+    // Getters and Setters
+    public long getDbCheckMs() {
+        return dbCheckMs;
+    }
+
+    public void setDbCheckMs(long dbCheckMs) {
+        this.dbCheckMs = dbCheckMs;
+    }
+
+    public int getDbTimeoutSeconds() {
+        return dbTimeoutSeconds;
+    }
+
+    public void setDbTimeoutSeconds(int dbTimeoutSeconds) {
+        this.dbTimeoutSeconds = dbTimeoutSeconds;
+    }
+
+    public long getStaleAfterMs() {
+        return staleAfterMs;
+    }
+
+    public void setStaleAfterMs(long staleAfterMs) {
+        this.staleAfterMs = staleAfterMs;
+    }
+
+    public int getMaxWaitingThreads() {
+        return maxWaitingThreads;
+    }
+
+    public void setMaxWaitingThreads(int maxWaitingThreads) {
+        this.maxWaitingThreads = maxWaitingThreads;
+    }
+
+    public Warmup getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(Warmup warmup) {
+        this.warmup = warmup;
+    }
+}
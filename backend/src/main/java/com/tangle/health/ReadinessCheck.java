@@ -0,0 +1,59 @@
+package com.tangle.health;
+
+import com.tangle.dto.ProbeCheck;
+import com.tangle.dto.ReadinessResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Whether this instance should receive traffic: every shard answered the last cached
+ * connectivity check, no pool has too many threads queued for a connection, and the
+ * in-memory indexes have been built. Reads only cached results and pool counters, so
+ * it is cheap enough to probe every second.
+ */
+@Component
+public class ReadinessCheck {
+
+    @Autowired
+    private DatabaseProbe databaseProbe;
+
+    @Autowired
+    private List<Warmable> warmables;
+
+    @Autowired
+    private HealthProperties properties;
+
+    public ReadinessResponse check() {
+        List<ProbeCheck> checks = new ArrayList<>();
+
+        Map<String, DatabaseProbe.Result> results = databaseProbe.getResults();
+        if (results.isEmpty()) {
+            checks.add(new ProbeCheck("database", false, "Not checked yet"));
+        }
+        results.forEach((shard, result) -> {
+            if (databaseProbe.isStale(result)) {
+                checks.add(new ProbeCheck("database:" + shard, false, "No result for "
+                        + (System.currentTimeMillis() - result.checkedAt()) + " ms"));
+            } else {
+                checks.add(new ProbeCheck("database:" + shard, result.up(),
+                        result.up() ? result.latencyMs() + " ms" : result.error()));
+            }
+        });
+
+        databaseProbe.getPoolStats().forEach((shard, pool) -> checks.add(new ProbeCheck("pool:" + shard,
+                pool.waiting() < properties.getMaxWaitingThreads(),
+                pool.active() + " active, " + pool.idle() + " idle, " + pool.waiting() + " waiting")));
+
+        for (Warmable warmable : warmables) {
+            boolean warm = warmable.isWarm();
+            checks.add(new ProbeCheck(warmable.getWarmupName(), warm, warm ? "Done" : "Pending"));
+        }
+
+        boolean ready = checks.stream().allMatch(ProbeCheck::up);
+        return new ReadinessResponse(ready ? "UP" : "DOWN", System.currentTimeMillis(), checks);
+    }
+}
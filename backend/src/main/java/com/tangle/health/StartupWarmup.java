@@ -0,0 +1,233 @@
+package com.tangle.health;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tangle.repository.PostRepository;
+import com.tangle.repository.UserRepository;
+import com.tangle.service.JwtService;
+import com.tangle.shard.ShardContext;
+import com.tangle.shard.ShardMap;
+import com.tangle.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Runs once the application has started and holds readiness back until it is done:
+ * opens every pooled connection, then replays the read traffic of the busiest
+ * communities over HTTP against this instance for a few rounds. The first round fills
+ * the post, comment and encoded body caches; the rest give the JIT the JWT, security,
+ * repository and serialization paths to compile before real users arrive.
+ * <p>
+ * Only GET requests are sent, as one active member of each community, with a token
+ * minted here that never leaves the process.
+ */
+@Component
+public class StartupWarmup implements Warmable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private record Target(Long communityId, String token, List<Long> postIds) {
+    }
+
+    @Autowired
+    private HealthProperties properties;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    private volatile boolean warm;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.getWarmup().isEnabled()) {
+            warm = true;
+            return;
+        }
+        Thread thread = new Thread(this::run, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public String getWarmupName() {
+        return "startup-warmup";
+    }
+
+    @Override
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Warms up on the calling thread. Failures are logged and the instance becomes
+     * ready anyway: a cold instance beats one that never takes traffic.
+     */
+    public void run() {
+        HealthProperties.Warmup config = properties.getWarmup();
+        long start = System.currentTimeMillis();
+        long deadline = start + config.getMaxSeconds() * 1000L;
+        try {
+            int connections = primePools();
+            long poolsMs = System.currentTimeMillis() - start;
+            List<Target> targets = findTargets(config);
+            long[] roundMs = exercise(targets, config, deadline);
+            logger.info("Warmup finished in {} ms: {} pooled connections opened in {} ms, {} communities replayed for {} rounds, "
+                            + "first round {} ms, last round {} ms", System.currentTimeMillis() - start, connections, poolsMs,
+                    targets.size(), roundMs.length, roundMs.length > 0 ? roundMs[0] : 0,
+                    roundMs.length > 0 ? roundMs[roundMs.length - 1] : 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Warmup failed after {} ms, taking traffic anyway", System.currentTimeMillis() - start, e);
+        } finally {
+            warm = true;
+        }
+    }
+
+    // Holds minimum-idle connections at once so the pool opens all of them now
+    private int primePools() throws SQLException {
+        int opened = 0;
+        for (String shard : shardMap.getShardNames()) {
+            DataSource shardDataSource = dataSource instanceof ShardRoutingDataSource routing ? routing.getShard(shard) : dataSource;
+            if (!(shardDataSource instanceof HikariDataSource hikari)) {
+                continue;
+            }
+            int count = Math.max(1, Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize()));
+            List<Connection> held = new ArrayList<>();
+            try {
+                for (int i = 0; i < count; i++) {
+                    Connection connection = hikari.getConnection();
+                    held.add(connection);
+                    connection.isValid(properties.getDbTimeoutSeconds());
+                }
+            } finally {
+                for (Connection connection : held) {
+                    connection.close();
+                }
+            }
+            opened += held.size();
+        }
+        return opened;
+    }
+
+    private List<Target> findTargets(HealthProperties.Warmup config) {
+        LocalDateTime since = LocalDateTime.now().minusDays(config.getRecentDays());
+        List<Target> targets = new ArrayList<>();
+        shardMap.forEachShard(shard -> {
+            // Rows of communities homed elsewhere are stale copies left by an unfinished move
+            List<Long> communityIds = postRepository.findBusiestCommunityIds(since, PageRequest.of(0, config.getTopCommunities()));
+            for (Long communityId : communityIds) {
+                if (!shard.equals(shardMap.shardFor(communityId))) {
+                    continue;
+                }
+                userRepository.findFirstByCommunityIdAndIsActiveTrueOrderByIdAsc(communityId).ifPresent(user ->
+                        targets.add(new Target(communityId, jwtService.generateToken(user), new ArrayList<>())));
+            }
+        });
+        return targets;
+    }
+
+    /**
+     * Returns how long each round took.
+     */
+    private long[] exercise(List<Target> targets, HealthProperties.Warmup config, long deadline)
+            throws IOException, InterruptedException {
+        String baseUrl = "http://localhost:" + environment.getProperty("local.server.port", "8080")
+                + environment.getProperty("server.servlet.context-path", "");
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long[] roundMs = new long[config.getRounds()];
+        int rounds = 0;
+        while (rounds < config.getRounds() && System.currentTimeMillis() < deadline) {
+            long roundStart = System.currentTimeMillis();
+            for (Target target : targets) {
+                get(client, baseUrl + "/communities", target.token());
+                get(client, baseUrl + "/communities/" + target.communityId(), target.token());
+                for (int page = 0; page < config.getFeedPages(); page++) {
+                    JsonNode feed = get(client, baseUrl + "/posts?page=" + page + "&size=20", target.token());
+                    if (rounds == 0 && feed != null && feed.has("content")) {
+                        int added = 0;
+                        for (JsonNode post : feed.get("content")) {
+                            if (added++ == config.getPostsPerPage()) {
+                                break;
+                            }
+                            target.postIds().add(post.get("id").asLong());
+                        }
+                    }
+                }
+                for (Long postId : target.postIds()) {
+                    get(client, baseUrl + "/posts/" + postId, target.token());
+                    get(client, baseUrl + "/posts/" + postId + "/comments", target.token());
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    break;
+                }
+            }
+            roundMs[rounds++] = System.currentTimeMillis() - roundStart;
+        }
+        return Arrays.copyOf(roundMs, rounds);
+    }
+
+    // The response body as JSON, or null if the request did not succeed
+    private JsonNode get(HttpClient client, String url, String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        boolean gzip = response.headers().firstValue("Content-Encoding").filter("gzip"::equalsIgnoreCase).isPresent();
+        try (InputStream body = gzip ? new GZIPInputStream(response.body()) : response.body()) {
+            if (response.statusCode() != 200) {
+                logger.debug("Warmup request {} answered {}", url, response.statusCode());
+                return null;
+            }
+            return objectMapper.readTree(body);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.tangle.health;
+
+/**
+ * An in-memory structure built from the database that requests depend on. The
+ * instance reports ready only once every one of them has been built.
+ */
+public interface Warmable {
+
+    String getWarmupName();
+
+    boolean isWarm();
+}
@@ -0,0 +1,45 @@
+package com.tangle.logging;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+
+/**
+ * MDC keys shared by the request filters and the JSON log encoder, and a way to carry
+ * them onto background threads so work queued by a request logs under its id.
+ */
+public final class LogContext {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String USER_ID = "userId";
+
+    private LogContext() {
+    }
+
+    public static String requestId() {
+        return MDC.get(REQUEST_ID);
+    }
+
+    /**
+     * Runs the task with the caller's MDC, restoring the worker's own afterwards.
+     */
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.tangle.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in N events of high-volume loggers, decided before the event is even
+ * created so the dropped ones cost a counter increment. Rules are
+ * {@code <rule>logger.name=N</rule>} and apply to the logger and its children, the
+ * most specific rule winning. Only levels up to {@code maxLevel} (WARN by default)
+ * are sampled; errors never are.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final Sampler NONE = new Sampler(1);
+
+    private final Map<String, Sampler> rules = new HashMap<>();
+
+    private final Map<String, Sampler> byLogger = new ConcurrentHashMap<>();
+
+    private Level maxLevel = Level.WARN;
+
+    public void addRule(String rule) {
+        int separator = rule.lastIndexOf('=');
+        if (separator <= 0) {
+            addError("Expected logger.name=N but got: " + rule);
+            return;
+        }
+        int keepOneIn = Integer.parseInt(rule.substring(separator + 1).trim());
+        if (keepOneIn < 1) {
+            addError("Sampling rate must be at least 1: " + rule);
+            return;
+        }
+        rules.put(rule.substring(0, separator).trim(), new Sampler(keepOneIn));
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.WARN);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled() checks pass no format; only actual log calls use up samples
+        if (!isStarted() || format == null || level.isGreaterOrEqual(Level.ERROR) || level.toInt() > maxLevel.toInt()
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Sampler sampler = byLogger.computeIfAbsent(logger.getName(), this::samplerFor);
+        return sampler.keep() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Sampler samplerFor(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Sampler sampler = rules.get(name);
+            if (sampler != null) {
+                return sampler;
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return NONE;
+            }
+            name = name.substring(0, dot);
+        }
+    }
+
+    private static final class Sampler {
+
+        private final int keepOneIn;
+
+        private final AtomicLong seen = new AtomicLong();
+
+        Sampler(int keepOneIn) {
+            this.keepOneIn = keepOneIn;
+        }
+
+        boolean keep() {
+            return keepOneIn == 1 || seen.getAndIncrement() % keepOneIn == 0;
+        }
+    }
+}
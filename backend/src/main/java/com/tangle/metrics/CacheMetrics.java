@@ -0,0 +1,37 @@
+package com.tangle.metrics;
+
+import com.tangle.cache.CoalescingCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    @Autowired
+    private List<CoalescingCache<?, ?>> caches;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CoalescingCache<?, ?> cache : caches) {
+            String name = cache.getName();
+            FunctionCounter.builder("tangle.cache.gets", cache, CoalescingCache::getHitCount)
+                    .tag("cache", name).tag("result", "hit").register(registry);
+            FunctionCounter.builder("tangle.cache.gets", cache, CoalescingCache::getMissCount)
+                    .tag("cache", name).tag("result", "miss").register(registry);
+            FunctionCounter.builder("tangle.cache.loads", cache, CoalescingCache::getExecutedLoadCount)
+                    .tag("cache", name).tag("result", "executed").register(registry);
+            FunctionCounter.builder("tangle.cache.loads", cache, CoalescingCache::getCoalescedLoadCount)
+                    .tag("cache", name).tag("result", "coalesced").register(registry);
+            FunctionCounter.builder("tangle.cache.loads", cache, CoalescingCache::getFailedLoadCount)
+                    .tag("cache", name).tag("result", "failed").register(registry);
+            Gauge.builder("tangle.cache.size", cache, CoalescingCache::size)
+                    .tag("cache", name).register(registry);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.tangle.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records how many SQL statements each request issued, tagged by route, and
+ * flags requests over their statement budget or repeating one statement shape.
+ * Runs ahead of the security filters so the user lookup for the token counts too;
+ * {@link RequestMetricsInterceptor} supplies the route and its budget once the
+ * handler is known. Latency per route comes from Spring's own http.server.requests
+ * timer.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private SqlBudgetProperties sqlBudgetProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        statementCounter.start(request.getMethod() + " " + RequestMetricsInterceptor.route(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            record(request, statementCounter.stop());
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestStatements statements) {
+        if (statements == null) {
+            return;
+        }
+
+        String uri = RequestMetricsInterceptor.route(request);
+        DistributionSummary.builder("tangle.hibernate.statements")
+                .description("SQL statements issued per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(statements.getCount());
+
+        Map.Entry<String, Integer> repeated = statements.mostRepeated();
+        boolean nPlusOne = repeated != null && repeated.getValue() > sqlBudgetProperties.getRepeatThreshold();
+        if (statements.isOverBudget() || nPlusOne) {
+            Counter.builder("tangle.hibernate.budget.violations")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .tag("kind", nPlusOne ? "repeated" : "budget")
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("{} issued {} SQL statements (budget {}); most repeated x{}: {}",
+                    statements.getRoute(), statements.getCount(), statements.getBudget(),
+                    repeated.getValue(), repeated.getKey());
+        }
+    }
+}
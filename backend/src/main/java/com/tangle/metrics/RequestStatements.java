@@ -0,0 +1,66 @@
+package com.tangle.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statements issued by one HTTP request, grouped by normalized shape so that
+ * the same query repeated in a loop (an N+1) stands out.
+ */
+public class RequestStatements {
+
+    private String route;
+    private int budget;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int count;
+    private boolean failed;
+
+    public RequestStatements(String route, int budget) {
+        this.route = route;
+        this.budget = budget;
+    }
+
+    public void routeTo(String route, int budget) {
+        this.route = route;
+        this.budget = budget;
+    }
+
+    public int record(String shape) {
+        count++;
+        return shapes.merge(shape, 1, Integer::sum);
+    }
+
+    public Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> top = null;
+        for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+            if (top == null || entry.getValue() > top.getValue()) {
+                top = entry;
+            }
+        }
+        return top;
+    }
+
+    public boolean isOverBudget() {
+        return count > budget;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public void markFailed() {
+        this.failed = true;
+    }
+}
@@ -0,0 +1,8 @@
+package com.tangle.metrics;
+
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
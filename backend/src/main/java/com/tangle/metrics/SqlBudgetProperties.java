@@ -0,0 +1,63 @@
+package com.tangle.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.sql-budget")
+public class SqlBudgetProperties {
+
+    public enum Mode {
+        LOG,
+        FAIL
+    }
+
+    private Mode mode = Mode.LOG;
+
+    private int defaultBudget = 25;
+
+    private int repeatThreshold = 5;
+
+    // Keyed by "METHOD /route/pattern"
+    private Map<String, Integer> routes = new HashMap<>();
+
+    public int budgetFor(String route) {
+        return routes.getOrDefault(route, defaultBudget);
+    }
+
+    // Getters and Setters
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getDefaultBudget() {
+        return defaultBudget;
+    }
+
+    public void setDefaultBudget(int defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+
+    public void setRepeatThreshold(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    public Map<String, Integer> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Integer> routes) {
+        this.routes = routes;
+    }
+}
@@ -0,0 +1,81 @@
+package com.tangle.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * request is being tracked, and enforces the per-route statement budget.
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Autowired
+    private SqlBudgetProperties properties;
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements current = CURRENT.get();
+        if (current == null) {
+            return sql;
+        }
+
+        int repeats = current.record(shapeOf(sql));
+        if (properties.getMode() == SqlBudgetProperties.Mode.FAIL && !current.isFailed()) {
+            enforceBudget(current);
+            if (repeats > properties.getRepeatThreshold()) {
+                current.markFailed();
+                throw new SqlBudgetExceededException("Possible N+1 on " + current.getRoute()
+                        + ": statement repeated " + repeats + " times: " + shapeOf(sql));
+            }
+        }
+        return sql;
+    }
+
+    public void start(String route) {
+        CURRENT.set(new RequestStatements(route, properties.budgetFor(route)));
+    }
+
+    /**
+     * Applies the matched route's budget to a request already being counted, including
+     * the statements issued before the route was known.
+     */
+    public void routeTo(String route) {
+        RequestStatements current = CURRENT.get();
+        if (current != null) {
+            current.routeTo(route, properties.budgetFor(route));
+            if (properties.getMode() == SqlBudgetProperties.Mode.FAIL && !current.isFailed()) {
+                enforceBudget(current);
+            }
+        }
+    }
+
+    private void enforceBudget(RequestStatements current) {
+        if (current.isOverBudget()) {
+            current.markFailed();
+            throw new SqlBudgetExceededException("SQL budget exceeded on " + current.getRoute()
+                    + ": " + current.getCount() + " statements, budget " + current.getBudget());
+        }
+    }
+
+    public RequestStatements stop() {
+        RequestStatements current = CURRENT.get();
+        CURRENT.remove();
+        return current;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = IN_LIST.matcher(sql).replaceAll("in (?)");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,121 @@
+package com.tangle.moderation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Running per-post report scores, updated one report at a time. A post's score sums
+ * the weight of each reporter's strongest standing report, so one user filing
+ * several reports counts once. A post is over the threshold once its score reaches
+ * it with enough distinct reporters; each add or remove says whether that flipped.
+ */
+public class AutoHideEvaluator {
+
+    public enum Transition {
+        NONE,
+        HIDE,
+        RELEASE
+    }
+
+    /**
+     * The state of a post after an update, for acting on and auditing a transition.
+     */
+    public record Evaluation(Transition transition, Long postId, Long communityId, double score, List<Long> reportIds) {
+    }
+
+    private final double threshold;
+    private final int minReporters;
+
+    private final Map<Long, PostScore> posts = new HashMap<>();
+    private final Map<Long, PostScore> postsByReport = new HashMap<>();
+
+    public AutoHideEvaluator(double threshold, int minReporters) {
+        this.threshold = threshold;
+        this.minReporters = minReporters;
+    }
+
+    public synchronized Evaluation add(Long reportId, Long postId, Long communityId, Long reporterId, double weight) {
+        // Replaces a vote already counted for the report without evaluating in between
+        PostScore previous = postsByReport.remove(reportId);
+        if (previous != null) {
+            previous.votes.remove(reportId);
+        }
+        PostScore post = posts.computeIfAbsent(postId, id -> new PostScore(postId, communityId));
+        post.votes.put(reportId, new Vote(reporterId != null ? reporterId : -reportId, weight));
+        postsByReport.put(reportId, post);
+        if (previous != null && previous != post && previous.votes.isEmpty()) {
+            posts.remove(previous.postId);
+        }
+        return evaluate(post);
+    }
+
+    public synchronized Evaluation remove(Long reportId) {
+        PostScore post = postsByReport.remove(reportId);
+        if (post == null) {
+            return null;
+        }
+        post.votes.remove(reportId);
+        Evaluation evaluation = evaluate(post);
+        if (post.votes.isEmpty()) {
+            posts.remove(post.postId);
+        }
+        return evaluation;
+    }
+
+    public synchronized Evaluation current(Long postId) {
+        PostScore post = posts.get(postId);
+        return post != null ? snapshot(post, Transition.NONE) : null;
+    }
+
+    public synchronized List<Evaluation> over() {
+        return posts.values().stream()
+                .filter(post -> post.over)
+                .map(post -> snapshot(post, Transition.NONE))
+                .collect(Collectors.toList());
+    }
+
+    public synchronized boolean isOver(Long postId) {
+        PostScore post = posts.get(postId);
+        return post != null && post.over;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    private Evaluation evaluate(PostScore post) {
+        Map<Long, Double> strongest = new HashMap<>();
+        post.votes.values().forEach(vote -> strongest.merge(vote.reporterId, vote.weight, Math::max));
+        post.score = strongest.values().stream().mapToDouble(Double::doubleValue).sum();
+        boolean over = post.score >= threshold && strongest.size() >= minReporters;
+        Transition transition = over == post.over ? Transition.NONE : over ? Transition.HIDE : Transition.RELEASE;
+        post.over = over;
+        return snapshot(post, transition);
+    }
+
+    private Evaluation snapshot(PostScore post, Transition transition) {
+        List<Long> reportIds = new ArrayList<>(post.votes.keySet());
+        reportIds.sort(null);
+        return new Evaluation(transition, post.postId, post.communityId, post.score, reportIds);
+    }
+
+    private record Vote(Long reporterId, double weight) {
+    }
+
+    private static final class PostScore {
+
+        private final Long postId;
+        private final Long communityId;
+        private final Map<Long, Vote> votes = new HashMap<>();
+        private double score;
+        private boolean over;
+
+        PostScore(Long postId, Long communityId) {
+            this.postId = postId;
+            this.communityId = communityId;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.tangle.moderation;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of a bulk moderation job, updated by the job's thread and read by pollers.
+ * Processed counts the targets worked through; changed counts those actually updated,
+ * since targets already in the requested state are skipped.
+ */
+public class BulkJob {
+
+    public enum Type {
+        REPORT_STATUS,
+        DEACTIVATE_POSTS,
+        DEACTIVATE_USER
+    }
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Type type;
+    private final Long requestedBy;
+    // The community the job was limited to, null when an admin requested it
+    private final Long scope;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger changed = new AtomicInteger();
+    private volatile int total;
+    private volatile State state = State.QUEUED;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    public BulkJob(Type type, int total, Long requestedBy, Long scope) {
+        this.type = type;
+        this.total = total;
+        this.requestedBy = requestedBy;
+        this.scope = scope;
+    }
+
+    public void start() {
+        state = State.RUNNING;
+    }
+
+    public void progress(int processedCount, int changedCount) {
+        processed.addAndGet(processedCount);
+        changed.addAndGet(changedCount);
+    }
+
+    public void finish() {
+        finishedAt = LocalDateTime.now();
+        state = State.DONE;
+    }
+
+    public void fail(String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    public boolean isFinished() {
+        return state == State.DONE || state == State.FAILED;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getRequestedBy() {
+        return requestedBy;
+    }
+
+    public Long getScope() {
+        return scope;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getProcessed() {
+        return processed.get();
+    }
+
+    public int getChanged() {
+        return changed.get();
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,135 @@
+package com.tangle.moderation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * SimHash and MinHash signatures of a post's text, for finding near-duplicates
+ * without comparing texts. Numbers are folded into one token, so reposts that only
+ * change a price or phone number still match.
+ * <p>
+ * The MinHash signature estimates the Jaccard similarity of the texts' character
+ * shingles, which tolerates a few edited words. The SimHash packs the word counts
+ * into 64 bits, so texts with a similar vocabulary differ in only a few bits.
+ */
+public final class ContentFingerprint {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern NUMBERS = Pattern.compile("\\p{N}+");
+
+    private static final int SHINGLE_LENGTH = 5;
+
+    private final long simHash;
+    private final int[] minHash;
+
+    private ContentFingerprint(long simHash, int[] minHash) {
+        this.simHash = simHash;
+        this.minHash = minHash;
+    }
+
+    /**
+     * Fingerprints the title and description, or returns null for texts too short
+     * to tell a repost from a coincidence.
+     */
+    public static ContentFingerprint of(String title, String description, int hashes, int minTokens) {
+        List<String> tokens = tokens((title != null ? title : "") + " " + (description != null ? description : ""));
+        if (tokens.size() < minTokens) {
+            return null;
+        }
+        return new ContentFingerprint(simHash(tokens), minHash(String.join(" ", tokens), hashes));
+    }
+
+    public long getSimHash() {
+        return simHash;
+    }
+
+    public int hashCount() {
+        return minHash.length;
+    }
+
+    public int minHash(int index) {
+        return minHash[index];
+    }
+
+    /**
+     * Estimated Jaccard similarity of the two texts' shingles, from 0 to 1.
+     */
+    public double similarity(ContentFingerprint other) {
+        int same = 0;
+        for (int i = 0; i < minHash.length; i++) {
+            if (minHash[i] == other.minHash[i]) {
+                same++;
+            }
+        }
+        return (double) same / minHash.length;
+    }
+
+    public int distance(ContentFingerprint other) {
+        return Long.bitCount(simHash ^ other.simHash);
+    }
+
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(NUMBERS.matcher(token).replaceAll("#"));
+            }
+        }
+        return tokens;
+    }
+
+    private static long simHash(List<String> tokens) {
+        int[] votes = new int[64];
+        for (String token : tokens) {
+            long hash = mix(hash(token, 0, token.length()));
+            for (int bit = 0; bit < 64; bit++) {
+                votes[bit] += (hash >>> bit & 1) != 0 ? 1 : -1;
+            }
+        }
+        long simHash = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) {
+                simHash |= 1L << bit;
+            }
+        }
+        return simHash;
+    }
+
+    private static int[] minHash(String text, int hashes) {
+        int[] minHash = new int[hashes];
+        Arrays.fill(minHash, Integer.MAX_VALUE);
+        int shingles = Math.max(text.length() - SHINGLE_LENGTH + 1, 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = hash(text, start, Math.min(start + SHINGLE_LENGTH, text.length()));
+            // One seeded mix per hash function instead of that many independent hashes
+            for (int i = 0; i < hashes; i++) {
+                int value = (int) (mix(shingle + 0x9E3779B97F4A7C15L * (i + 1)) >>> 33);
+                if (value < minHash[i]) {
+                    minHash[i] = value;
+                }
+            }
+        }
+        return minHash;
+    }
+
+    // FNV-1a
+    private static long hash(String text, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
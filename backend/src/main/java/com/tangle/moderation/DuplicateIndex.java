@@ -0,0 +1,143 @@
+package com.tangle.moderation;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fingerprints of recent posts, bucketed so that near-duplicates of a new post are
+ * found without comparing it to every post in the window.
+ * <p>
+ * Two kinds of bucket lead to candidates. The MinHash signature is cut into bands;
+ * posts that agree on every row of any band share a bucket, which catches most pairs
+ * above about (1 / bands)^(1 / rows) similarity. The SimHash is cut into four 16-bit
+ * blocks; texts within three bits of each other agree on at least one whole block.
+ * Candidates are then checked against the actual thresholds.
+ */
+public class DuplicateIndex {
+
+    public record Match(Long postId, Long userId, Long communityId, double similarity, int distance) {
+    }
+
+    private static final int SIMHASH_BLOCKS = 4;
+
+    private final int bands;
+    private final long windowMillis;
+    private final double minSimilarity;
+    private final int maxDistance;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+    private final Deque<Entry> byAge = new ArrayDeque<>();
+
+    public DuplicateIndex(int bands, double windowHours, double minSimilarity, int maxDistance) {
+        this.bands = bands;
+        this.windowMillis = (long) (windowHours * 3_600_000);
+        this.minSimilarity = minSimilarity;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * Indexes the post and returns the earlier posts in the window it nearly duplicates,
+     * most similar first.
+     */
+    public synchronized List<Match> add(Long postId, Long userId, Long communityId, LocalDateTime createdAt,
+                                        ContentFingerprint fingerprint) {
+        if (fingerprint.hashCount() % bands != 0) {
+            throw new IllegalArgumentException("MinHash size " + fingerprint.hashCount() + " is not a multiple of " + bands + " bands");
+        }
+        remove(postId);
+        LocalDateTime from = createdAt.minusNanos(windowMillis * 1_000_000);
+        evictBefore(from);
+
+        long[] keys = keys(fingerprint);
+        Set<Long> candidates = new HashSet<>();
+        for (long key : keys) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        List<Match> matches = new ArrayList<>();
+        for (Long candidateId : candidates) {
+            Entry candidate = entries.get(candidateId);
+            if (candidate.createdAt.isBefore(from) || candidate.createdAt.isAfter(createdAt)) {
+                continue;
+            }
+            double similarity = fingerprint.similarity(candidate.fingerprint);
+            int distance = fingerprint.distance(candidate.fingerprint);
+            if (similarity >= minSimilarity || distance <= maxDistance) {
+                matches.add(new Match(candidate.postId, candidate.userId, candidate.communityId, similarity, distance));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed().thenComparingInt(Match::distance));
+
+        Entry entry = new Entry(postId, userId, communityId, createdAt, fingerprint, keys);
+        entries.put(postId, entry);
+        byAge.addLast(entry);
+        for (long key : keys) {
+            buckets.computeIfAbsent(key, k -> new HashSet<>()).add(postId);
+        }
+        return matches;
+    }
+
+    public synchronized boolean remove(Long postId) {
+        Entry entry = entries.remove(postId);
+        if (entry == null) {
+            return false;
+        }
+        unbucket(entry);
+        byAge.remove(entry);
+        return true;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Posts arrive roughly in creation order, so the oldest are at the head
+    private void evictBefore(LocalDateTime cutoff) {
+        while (!byAge.isEmpty() && byAge.peekFirst().createdAt.isBefore(cutoff)) {
+            Entry entry = byAge.removeFirst();
+            entries.remove(entry.postId);
+            unbucket(entry);
+        }
+    }
+
+    private void unbucket(Entry entry) {
+        for (long key : entry.keys) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(entry.postId) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private long[] keys(ContentFingerprint fingerprint) {
+        int rows = fingerprint.hashCount() / bands;
+        long[] keys = new long[bands + SIMHASH_BLOCKS];
+        for (int band = 0; band < bands; band++) {
+            long key = band;
+            for (int row = band * rows; row < (band + 1) * rows; row++) {
+                key = key * 0x100000001b3L + fingerprint.minHash(row);
+            }
+            // Tagged so band keys never collide with SimHash block keys
+            keys[band] = key << 1;
+        }
+        for (int block = 0; block < SIMHASH_BLOCKS; block++) {
+            keys[bands + block] = ((long) block << 17 | (fingerprint.getSimHash() >>> (block * 16) & 0xFFFF) << 1) | 1;
+        }
+        return keys;
+    }
+
+    private record Entry(Long postId, Long userId, Long communityId, LocalDateTime createdAt,
+                         ContentFingerprint fingerprint, long[] keys) {
+    }
+}
@@ -0,0 +1,274 @@
+package com.tangle.moderation;
+
+import com.tangle.entity.ReportType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.moderation")
+public class ModerationProperties {
+
+    // Severity of each report type; types not listed weigh 1
+    private Map<ReportType, Double> weights = new EnumMap<>(Map.of(
+        ReportType.SCAM, 3.0,
+        ReportType.HARASSMENT, 3.0,
+        ReportType.INAPPROPRIATE_CONTENT, 2.0,
+        ReportType.FAKE_INFORMATION, 2.0,
+        ReportType.SPAM, 1.5,
+        ReportType.OTHER, 1.0
+    ));
+
+    // A report counts half as much after this long
+    private double halfLifeHours = 24;
+
+    private double unverifiedTrust = 0.6;
+
+    // Moderators and admins
+    private double staffTrust = 2.0;
+
+    private AutoHide autoHide = new AutoHide();
+
+    private Duplicates duplicates = new Duplicates();
+
+    private Bulk bulk = new Bulk();
+
+    /**
+     * Hides a post once the weights of its standing reports add up to the threshold.
+     */
+    public static class AutoHide {
+
+        private boolean enabled = true;
+
+        private double threshold = 6.0;
+
+        private int minReporters = 2;
+
+        // Getters and Setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(double threshold) {
+            this.threshold = threshold;
+        }
+
+        public int getMinReporters() {
+            return minReporters;
+        }
+
+        public void setMinReporters(int minReporters) {
+            this.minReporters = minReporters;
+        }
+    }
+
+    /**
+     * Reports new posts that nearly repeat a recent post, from the same or another user.
+     */
+    public static class Duplicates {
+
+        private boolean enabled = true;
+
+        private double windowHours = 72;
+
+        // Estimated share of shared shingles
+        private double similarity = 0.8;
+
+        // Differing SimHash bits
+        private int maxDistance = 3;
+
+        // Shorter posts are too alike by chance to judge
+        private int minTokens = 8;
+
+        private int hashes = 64;
+
+        private int bands = 16;
+
+        private int workers = 1;
+
+        private int queueCapacity = 1000;
+
+        // Getters and Setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getWindowHours() {
+            return windowHours;
+        }
+
+        public void setWindowHours(double windowHours) {
+            this.windowHours = windowHours;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+
+        public void setSimilarity(double similarity) {
+            this.similarity = similarity;
+        }
+
+        public int getMaxDistance() {
+            return maxDistance;
+        }
+
+        public void setMaxDistance(int maxDistance) {
+            this.maxDistance = maxDistance;
+        }
+
+        public int getMinTokens() {
+            return minTokens;
+        }
+
+        public void setMinTokens(int minTokens) {
+            this.minTokens = minTokens;
+        }
+
+        public int getHashes() {
+            return hashes;
+        }
+
+        public void setHashes(int hashes) {
+            this.hashes = hashes;
+        }
+
+        public int getBands() {
+            return bands;
+        }
+
+        public void setBands(int bands) {
+            this.bands = bands;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Bulk report updates and deactivations, run as background jobs in batches.
+     */
+    public static class Bulk {
+
+        private int batchSize = 200;
+
+        // Ids accepted in one request
+        private int maxIds = 10000;
+
+        // Finished jobs stay pollable this long
+        private long jobRetentionMinutes = 60;
+
+        // Getters and Setters
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxIds() {
+            return maxIds;
+        }
+
+        public void setMaxIds(int maxIds) {
+            this.maxIds = maxIds;
+        }
+
+        public long getJobRetentionMinutes() {
+            return jobRetentionMinutes;
+        }
+
+        public void setJobRetentionMinutes(long jobRetentionMinutes) {
+            this.jobRetentionMinutes = jobRetentionMinutes;
+        }
+    }
+
+    public double weightOf(ReportType type) {
+        return type != null ? weights.getOrDefault(type, 1.0) : 1.0;
+    }
+
+    // Getters and Setters
+    public Map<ReportType, Double> getWeights() {
+        return weights;
+    }
+
+    public void setWeights(Map<ReportType, Double> weights) {
+        this.weights = weights;
+    }
+
+    public double getHalfLifeHours() {
+        return halfLifeHours;
+    }
+
+    public void setHalfLifeHours(double halfLifeHours) {
+        this.halfLifeHours = halfLifeHours;
+    }
+
+    public double getUnverifiedTrust() {
+        return unverifiedTrust;
+    }
+
+    public void setUnverifiedTrust(double unverifiedTrust) {
+        this.unverifiedTrust = unverifiedTrust;
+    }
+
+    public double getStaffTrust() {
+        return staffTrust;
+    }
+
+    public void setStaffTrust(double staffTrust) {
+        this.staffTrust = staffTrust;
+    }
+
+    public AutoHide getAutoHide() {
+        return autoHide;
+    }
+
+    public void setAutoHide(AutoHide autoHide) {
+        this.autoHide = autoHide;
+    }
+
+    public Duplicates getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(Duplicates duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public void setBulk(Bulk bulk) {
+        this.bulk = bulk;
+    }
+}
@@ -0,0 +1,186 @@
+package com.tangle.moderation;
+
+import com.tangle.dto.ModerationCaseResponse;
+import com.tangle.dto.ModerationReport;
+import com.tangle.entity.ReportType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Open reports grouped into one case per reported post or user, kept ranked per
+ * community as reports arrive and are resolved, so a page of the queue never scans
+ * every report.
+ * <p>
+ * A case scores the sum of its reports' weights (severity times reporter trust),
+ * each halved every half-life, counting only the strongest report per reporter.
+ * Since every report decays at the same rate the order never changes by itself,
+ * so cases are ranked by the score anchored at the epoch, kept as a base-2 log to
+ * stay in range, and only re-ranked when one of their reports changes.
+ */
+public class ModerationQueue {
+
+    public enum TargetType {
+        POST,
+        USER
+    }
+
+    private static final Comparator<Case> BY_RANK = Comparator.comparingDouble((Case c) -> c.rank).reversed()
+            .thenComparingLong(c -> c.sequence);
+
+    private final double halfLifeMillis;
+
+    private final Map<Long, Case> casesByReport = new HashMap<>();
+    private final Map<Target, Case> cases = new HashMap<>();
+    private final Map<Long, TreeSet<Case>> ranked = new HashMap<>();
+    private long sequence;
+
+    public ModerationQueue(double halfLifeHours) {
+        this.halfLifeMillis = halfLifeHours * 3_600_000;
+    }
+
+    /**
+     * Adds the report to its target's case, or moves it there if it was queued before.
+     * Reports without a target or community are ignored.
+     */
+    public synchronized void add(ModerationReport report, double weight) {
+        Target target = targetOf(report);
+        if (target == null || report.communityId() == null) {
+            return;
+        }
+        remove(report.reportId());
+        Case queued = cases.computeIfAbsent(target, t -> new Case(t, report.communityId(), sequence++));
+        TreeSet<Case> community = ranked.computeIfAbsent(queued.communityId, id -> new TreeSet<>(BY_RANK));
+        community.remove(queued);
+        LocalDateTime createdAt = report.createdAt() != null ? report.createdAt() : LocalDateTime.now();
+        queued.reports.put(report.reportId(), new Entry(report.type(), report.reporterId(), createdAt,
+                log2(Math.max(weight, Double.MIN_NORMAL)) + epochMillis(createdAt) / halfLifeMillis));
+        queued.rank = rank(queued);
+        community.add(queued);
+        casesByReport.put(report.reportId(), queued);
+    }
+
+    public synchronized boolean remove(Long reportId) {
+        Case queued = casesByReport.remove(reportId);
+        if (queued == null) {
+            return false;
+        }
+        TreeSet<Case> community = ranked.get(queued.communityId);
+        community.remove(queued);
+        queued.reports.remove(reportId);
+        if (queued.reports.isEmpty()) {
+            cases.remove(queued.target);
+            if (community.isEmpty()) {
+                ranked.remove(queued.communityId);
+            }
+        } else {
+            queued.rank = rank(queued);
+            community.add(queued);
+        }
+        return true;
+    }
+
+    /**
+     * A page of the community's cases, highest score first.
+     */
+    public synchronized List<ModerationCaseResponse> page(Long communityId, long offset, int limit, LocalDateTime now) {
+        TreeSet<Case> community = ranked.get(communityId);
+        List<ModerationCaseResponse> page = new ArrayList<>();
+        if (community == null) {
+            return page;
+        }
+        double nowExponent = epochMillis(now) / halfLifeMillis;
+        Iterator<Case> iterator = community.iterator();
+        for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(toResponse(iterator.next(), nowExponent));
+        }
+        return page;
+    }
+
+    public synchronized int size(Long communityId) {
+        TreeSet<Case> community = ranked.get(communityId);
+        return community != null ? community.size() : 0;
+    }
+
+    public synchronized int reportCount() {
+        return casesByReport.size();
+    }
+
+    private Target targetOf(ModerationReport report) {
+        if (report.postId() != null) {
+            return new Target(TargetType.POST, report.postId());
+        }
+        if (report.reportedUserId() != null) {
+            return new Target(TargetType.USER, report.reportedUserId());
+        }
+        return null;
+    }
+
+    private double rank(Case queued) {
+        // Strongest report per reporter; anonymous reports count on their own
+        Map<Object, Double> strongest = new HashMap<>();
+        queued.reports.forEach((reportId, entry) -> strongest.merge(
+                entry.reporterId != null ? entry.reporterId : "report-" + reportId, entry.logScore, Math::max));
+        double max = strongest.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        double sum = strongest.values().stream().mapToDouble(logScore -> Math.pow(2, logScore - max)).sum();
+        return max + log2(sum);
+    }
+
+    private ModerationCaseResponse toResponse(Case queued, double nowExponent) {
+        Map<ReportType, Integer> types = new EnumMap<>(ReportType.class);
+        List<Long> reportIds = new ArrayList<>(queued.reports.keySet());
+        reportIds.sort(Comparator.naturalOrder());
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        for (Entry entry : queued.reports.values()) {
+            if (entry.type != null) {
+                types.merge(entry.type, 1, Integer::sum);
+            }
+            first = first == null || entry.createdAt.isBefore(first) ? entry.createdAt : first;
+            last = last == null || entry.createdAt.isAfter(last) ? entry.createdAt : last;
+        }
+        int reporters = (int) queued.reports.values().stream().map(entry -> entry.reporterId).distinct().count();
+        return new ModerationCaseResponse(queued.target.type.name(), queued.target.id, queued.communityId,
+                Math.pow(2, queued.rank - nowExponent), queued.reports.size(), reporters, types, reportIds, first, last);
+    }
+
+    private static double epochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+
+    private record Target(TargetType type, Long id) {
+    }
+
+    private record Entry(ReportType type, Long reporterId, LocalDateTime createdAt, double logScore) {
+    }
+
+    private static final class Case {
+
+        private final Target target;
+        private final Long communityId;
+        private final long sequence;
+        private final Map<Long, Entry> reports = new HashMap<>();
+        private double rank;
+
+        Case(Target target, Long communityId, long sequence) {
+            this.target = target;
+            this.communityId = communityId;
+            this.sequence = sequence;
+        }
+    }
+}
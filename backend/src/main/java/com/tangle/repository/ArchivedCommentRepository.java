@@ -0,0 +1,24 @@
+package com.tangle.repository;
+
+import com.tangle.entity.ArchivedComment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedCommentRepository extends JpaRepository<ArchivedComment, Long> {
+    
+    List<ArchivedComment> findByPostIdAndIsActiveTrueOrderByCreatedAtDesc(Long postId);
+    
+    long countByPostIdAndIsActiveTrue(Long postId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO comments_archive (id, content, user_id, post_id, is_active, created_at, updated_at, archived_at) " +
+                   "SELECT id, content, user_id, post_id, is_active, created_at, updated_at, CURRENT_TIMESTAMP " +
+                   "FROM comments WHERE post_id IN :postIds", nativeQuery = true)
+    int copyFromCommentsOfPosts(@Param("postIds") List<Long> postIds);
+}
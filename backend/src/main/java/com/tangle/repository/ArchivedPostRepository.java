@@ -0,0 +1,26 @@
+package com.tangle.repository;
+
+import com.tangle.entity.ArchivedPost;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedPostRepository extends JpaRepository<ArchivedPost, Long> {
+    
+    // Archived rows are not covered by the soft-delete filter
+    Optional<ArchivedPost> findByIdAndIsActiveTrue(Long id);
+    
+    @Modifying
+    @Query(value = "INSERT INTO posts_archive (id, title, description, category, type, user_id, community_id, contact_info, " +
+                   "price, location, latitude, longitude, images, is_urgent, is_featured, is_active, view_count, created_at, updated_at, archived_at) " +
+                   "SELECT id, title, description, category, type, user_id, community_id, contact_info, " +
+                   "price, location, latitude, longitude, images, is_urgent, is_featured, is_active, view_count, created_at, updated_at, CURRENT_TIMESTAMP " +
+                   "FROM posts WHERE id IN :ids", nativeQuery = true)
+    int copyFromPosts(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,9 @@
+package com.tangle.repository;
+
+import com.tangle.entity.ChangeLogHorizon;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeLogHorizonRepository extends JpaRepository<ChangeLogHorizon, Long> {
+}
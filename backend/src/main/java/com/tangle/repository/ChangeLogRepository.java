@@ -0,0 +1,29 @@
+package com.tangle.repository;
+
+import com.tangle.entity.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findByCommunityIdAndIdGreaterThanOrderByIdAsc(Long communityId, Long id, Pageable pageable);
+
+    // Walks the (community_id, id) index backwards and stops at the first settled entry
+    Optional<ChangeLogEntry> findTopByCommunityIdAndCreatedAtBeforeOrderByIdDesc(Long communityId, LocalDateTime before);
+
+    // Oldest entries first, along the primary key
+    List<ChangeLogEntry> findByOrderByIdAsc(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
@@ -1,10 +1,18 @@
 package com.tangle.repository;
 
+import com.tangle.dto.ContentVersion;
 import com.tangle.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -12,4 +20,49 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostIdOrderByCreatedAtDesc(Long postId);
     
     List<Comment> findByUserId(Long userId);
+    
+    @Query("SELECT c FROM Comment c JOIN FETCH c.post WHERE c.id = :id")
+    Optional<Comment> findByIdWithPost(@Param("id") Long id);
+    
+    @Query("SELECT c FROM Comment c LEFT JOIN FETCH c.user WHERE c.post.id = :postId ORDER BY c.createdAt DESC")
+    List<Comment> findByPostIdWithUser(@Param("postId") Long postId);
+    
+    // Rows of [post id, comment count]; posts without comments are left out
+    @Query("SELECT c.post.id, COUNT(c) FROM Comment c WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<Object[]> countByPostIds(@Param("postIds") Collection<Long> postIds);
+    
+    @Query("SELECT new com.tangle.dto.ContentVersion(COUNT(c), MAX(c.updatedAt)) FROM Comment c WHERE c.post.id = :postId")
+    ContentVersion findVersionByPostId(@Param("postId") Long postId);
+    
+    @Query("SELECT new com.tangle.dto.ContentVersion(COUNT(c), MAX(c.updatedAt)) FROM Comment c WHERE c.post.community.id = :communityId")
+    ContentVersion findVersionByCommunityId(@Param("communityId") Long communityId);
+    
+    long countByPostId(Long postId);
+    
+    @Query(value = "SELECT id FROM comments WHERE is_active = false AND updated_at < :cutoff LIMIT :limit", nativeQuery = true)
+    List<Long> findInactiveIdsUpdatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+    
+    // Rows of [comment id, post id, community id]; comments on hidden posts too
+    @IncludeInactive
+    @Query("SELECT c.id, c.post.id, c.post.community.id FROM Comment c WHERE c.user.id = :userId AND c.isActive = true ORDER BY c.id")
+    List<Object[]> findActiveIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @IncludeInactive
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.user.id = :userId AND c.isActive = true")
+    long countActiveByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @IncludeInactive
+    @Query("UPDATE Comment c SET c.isActive = false, c.updatedAt = :now WHERE c.id IN :ids AND c.isActive = true")
+    int deactivateByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @IncludeInactive
+    @Query("DELETE FROM Comment c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+    
+    @Modifying
+    @IncludeInactive
+    @Query("DELETE FROM Comment c WHERE c.post.id IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") List<Long> postIds);
 } 
\ No newline at end of file
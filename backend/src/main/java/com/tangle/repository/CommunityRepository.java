@@ -1,5 +1,6 @@
 package com.tangle.repository;
 
+import com.tangle.dto.ContentVersion;
 import com.tangle.entity.Community;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -26,7 +27,21 @@ public interface CommunityRepository extends JpaRepository<Community, Long> {
     @Query("SELECT c FROM Community c WHERE c.isActive = true")
     List<Community> findActiveCommunities();
     
+    @Query("SELECT c FROM Community c WHERE c.isActive = true AND c.latitude IS NOT NULL AND c.longitude IS NOT NULL")
+    List<Community> findLocated();
+    
+    @Query("SELECT new com.tangle.dto.ContentVersion(COUNT(c), MAX(c.updatedAt)) FROM Community c")
+    ContentVersion findVersionOfAll();
+    
+    @Query("SELECT new com.tangle.dto.ContentVersion(COUNT(c), MAX(c.updatedAt)) FROM Community c WHERE c.id = :id")
+    ContentVersion findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT new com.tangle.dto.ContentVersion(COUNT(c), MAX(c.updatedAt)) FROM Community c WHERE c.communityCode = :communityCode")
+    ContentVersion findVersionByCommunityCode(@Param("communityCode") String communityCode);
+    
+    @IncludeInactive
     boolean existsByCommunityCode(String communityCode);
     
+    @IncludeInactive
     boolean existsByNameAndCity(String name, String city);
 } 
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.tangle.repository;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a repository method that must also see soft-deleted rows, such as
+ * uniqueness checks and login lookups.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IncludeInactive {
+}
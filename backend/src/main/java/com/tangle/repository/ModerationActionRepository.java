@@ -0,0 +1,16 @@
+package com.tangle.repository;
+
+import com.tangle.entity.ModerationAction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ModerationActionRepository extends JpaRepository<ModerationAction, Long> {
+    
+    List<ModerationAction> findByPostIdOrderByIdDesc(Long postId);
+    
+    List<ModerationAction> findByCommunityIdOrderByIdDesc(Long communityId, Pageable pageable);
+}
@@ -1,34 +1,128 @@
 package com.tangle.repository;
 
+import com.tangle.dto.ContentVersion;
+import com.tangle.dto.PostContent;
+import com.tangle.dto.PostLocation;
 import com.tangle.entity.Post;
 import com.tangle.entity.PostCategory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
     
+    @EntityGraph(attributePaths = "user")
     Page<Post> findByCommunityId(Long communityId, Pageable pageable);
     
+    @EntityGraph(attributePaths = "user")
     Page<Post> findByCommunityIdAndCategory(Long communityId, PostCategory category, Pageable pageable);
     
+    @EntityGraph(attributePaths = "user")
     List<Post> findByUserId(Long userId);
     
+    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.user LEFT JOIN FETCH p.community WHERE p.id = :id")
+    Optional<Post> findByIdWithUserAndCommunity(@Param("id") Long id);
+    
     Long countByCommunityId(Long communityId);
+
+    // Communities with the most posts since the cutoff, busiest first
+    @Query("SELECT p.community.id FROM Post p WHERE p.isActive = true AND p.createdAt >= :since " +
+           "GROUP BY p.community.id ORDER BY COUNT(p) DESC")
+    List<Long> findBusiestCommunityIds(@Param("since") LocalDateTime since, Pageable pageable);
+    
+    @Query("SELECT new com.tangle.dto.PostLocation(p.id, p.community.id, p.latitude, p.longitude) FROM Post p " +
+           "WHERE p.isActive = true AND p.latitude IS NOT NULL AND p.longitude IS NOT NULL")
+    List<PostLocation> findLocations();
+    
+    @EntityGraph(attributePaths = "user")
+    List<Post> findByIdIn(Collection<Long> ids);
+    
+    @Query("SELECT new com.tangle.dto.PostContent(p.id, p.user.id, p.community.id, p.title, p.description, p.createdAt) " +
+           "FROM Post p WHERE p.isActive = true AND p.createdAt >= :since ORDER BY p.createdAt")
+    List<PostContent> findContentCreatedSince(@Param("since") LocalDateTime since);
+    
+    @IncludeInactive
+    @Query("SELECT new com.tangle.dto.PostLocation(p.id, p.community.id, p.latitude, p.longitude) FROM Post p WHERE p.id = :id")
+    Optional<PostLocation> findLocationById(@Param("id") Long id);
+    
+    @IncludeInactive
+    @Query("SELECT new com.tangle.dto.PostLocation(p.id, p.community.id, p.latitude, p.longitude) FROM Post p WHERE p.quarantinedAt IS NOT NULL")
+    List<PostLocation> findQuarantinedLocations();
+    
+    // Only hides active posts, so posts removed by their author stay removed
+    @Modifying
+    @IncludeInactive
+    @Query("UPDATE Post p SET p.isActive = false, p.quarantinedAt = :now, p.updatedAt = :now WHERE p.id = :id AND p.isActive = true")
+    int quarantine(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @IncludeInactive
+    @Query("UPDATE Post p SET p.isActive = true, p.quarantinedAt = NULL, p.updatedAt = :now WHERE p.id = :id AND p.quarantinedAt IS NOT NULL")
+    int release(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    // Active or quarantined posts, which a moderator's deactivation takes out of auto-hide's hands
+    @IncludeInactive
+    @Query("SELECT new com.tangle.dto.PostLocation(p.id, p.community.id, p.latitude, p.longitude) FROM Post p " +
+           "WHERE p.id IN :ids AND (p.isActive = true OR p.quarantinedAt IS NOT NULL)")
+    List<PostLocation> findDeactivatableByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @IncludeInactive
+    @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId AND (p.isActive = true OR p.quarantinedAt IS NOT NULL) ORDER BY p.id")
+    List<Long> findDeactivatableIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @IncludeInactive
+    @Query("SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId AND (p.isActive = true OR p.quarantinedAt IS NOT NULL)")
+    long countDeactivatableByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @IncludeInactive
+    @Query("UPDATE Post p SET p.isActive = false, p.quarantinedAt = NULL, p.updatedAt = :now " +
+           "WHERE p.id IN :ids AND (p.isActive = true OR p.quarantinedAt IS NOT NULL)")
+    int deactivateByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT new com.tangle.dto.ContentVersion(COUNT(p), MAX(p.updatedAt)) FROM Post p WHERE p.community.id = :communityId")
+    ContentVersion findVersionByCommunityId(@Param("communityId") Long communityId);
+    
+    @Query("SELECT new com.tangle.dto.ContentVersion(COUNT(p), MAX(p.updatedAt)) FROM Post p WHERE p.id = :id")
+    ContentVersion findVersionById(@Param("id") Long id);
     
     @Query("SELECT p FROM Post p WHERE p.community.id = :communityId AND p.isUrgent = true")
     List<Post> findUrgentPostsByCommunityId(@Param("communityId") Long communityId);
     
+    @Query("SELECT COUNT(p) FROM Post p WHERE p.community.id = :communityId AND p.isUrgent = true")
+    long countUrgentPostsByCommunityId(@Param("communityId") Long communityId);
+    
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT p FROM Post p WHERE p.community.id = :communityId AND " +
            "(LOWER(p.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     Page<Post> searchPostsInCommunity(@Param("communityId") Long communityId, 
                                      @Param("searchTerm") String searchTerm, 
                                      Pageable pageable);
-} 
\ No newline at end of file
+    
+    // Reported posts are kept as moderation evidence
+    @Query(value = "SELECT p.id FROM posts p WHERE p.is_active = false AND p.updated_at < :cutoff " +
+                   "AND NOT EXISTS (SELECT 1 FROM reports r WHERE r.post_id = p.id) LIMIT :limit", nativeQuery = true)
+    List<Long> findPurgeableIdsUpdatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+    
+    // Old posts, and events that have been taken down, move to the archive tier
+    @Query(value = "SELECT p.id FROM posts p WHERE (p.created_at < :cutoff OR (p.category = 'EVENT' AND p.is_active = false)) " +
+                   "AND NOT EXISTS (SELECT 1 FROM reports r WHERE r.post_id = p.id) ORDER BY p.id LIMIT :limit", nativeQuery = true)
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+    
+    @Modifying
+    @IncludeInactive
+    @Query("DELETE FROM Post p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
\ No newline at end of file
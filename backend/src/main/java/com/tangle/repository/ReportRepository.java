@@ -1,19 +1,70 @@
 package com.tangle.repository;
 
+import com.tangle.dto.ModerationReport;
 import com.tangle.entity.Report;
+import com.tangle.entity.ReportStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Long> {
     
+    String MODERATION_REPORT_SELECT = "SELECT new com.tangle.dto.ModerationReport(r.id, r.type, r.status, reporter.id, reporter.isVerified, reporter.role, " +
+                                "p.id, u.id, COALESCE(pc.id, uc.id), r.createdAt) FROM Report r " +
+                                "LEFT JOIN r.reporter reporter LEFT JOIN r.post p LEFT JOIN p.community pc " +
+                                "LEFT JOIN r.reportedUser u LEFT JOIN u.community uc ";
+    
     List<Report> findByReporterId(Long reporterId);
     
     List<Report> findByReportedUserId(Long reportedUserId);
     
     List<Report> findByPostId(Long postId);
     
-    List<Report> findByStatus(String status);
-} 
\ No newline at end of file
+    Page<Report> findByStatus(ReportStatus status, Pageable pageable);
+    
+    // Hidden posts and users keep their reports queued
+    @IncludeInactive
+    @Query(MODERATION_REPORT_SELECT + "WHERE r.status IN :statuses")
+    List<ModerationReport> findModerationReports(@Param("statuses") Collection<ReportStatus> statuses);
+    
+    // Upheld reports still scoring a post that has open reports or is hidden
+    @IncludeInactive
+    @Query(MODERATION_REPORT_SELECT + "WHERE r.status = :upheld AND r.post.id IN " +
+           "(SELECT o.post.id FROM Report o WHERE o.status IN :open)")
+    List<ModerationReport> findUpheldReportsOnReportedPosts(@Param("upheld") ReportStatus upheld,
+                                                            @Param("open") Collection<ReportStatus> open);
+    
+    @IncludeInactive
+    @Query(MODERATION_REPORT_SELECT + "WHERE r.status = :upheld AND r.post.id IN " +
+           "(SELECT q.id FROM Post q WHERE q.quarantinedAt IS NOT NULL)")
+    List<ModerationReport> findUpheldReportsOnQuarantinedPosts(@Param("upheld") ReportStatus upheld);
+    
+    @IncludeInactive
+    @Query(MODERATION_REPORT_SELECT + "WHERE p.id = :postId AND r.status = :status")
+    List<ModerationReport> findModerationReportsByPostIdAndStatus(@Param("postId") Long postId, @Param("status") ReportStatus status);
+    
+    @IncludeInactive
+    @Query(MODERATION_REPORT_SELECT + "WHERE r.id = :id")
+    Optional<ModerationReport> findModerationReportById(@Param("id") Long id);
+    
+    @IncludeInactive
+    @Query(MODERATION_REPORT_SELECT + "WHERE r.id IN :ids")
+    List<ModerationReport> findModerationReportsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE Report r SET r.status = :status, r.updatedAt = :now WHERE r.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") ReportStatus status, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT r.reporter.id, r.status, COUNT(r) FROM Report r WHERE r.status IN :statuses GROUP BY r.reporter.id, r.status")
+    List<Object[]> countByReporterAndStatus(@Param("statuses") Collection<ReportStatus> statuses);
+}
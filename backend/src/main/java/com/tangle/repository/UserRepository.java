@@ -3,26 +3,38 @@ package com.tangle.repository;
 import com.tangle.entity.User;
 import com.tangle.entity.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    @IncludeInactive
     Optional<User> findByEmailOrPhoneNumber(String email, String phoneNumber);
     
+    @IncludeInactive
     boolean existsByEmail(String email);
     
+    @IncludeInactive
     boolean existsByPhoneNumber(String phoneNumber);
     
     List<User> findByCommunityId(Long communityId);
     
     List<User> findByCommunityIdAndRole(Long communityId, UserRole role);
     
+    Optional<User> findFirstByCommunityIdAndIsActiveTrueOrderByIdAsc(Long communityId);
+    
+    @Modifying
+    @IncludeInactive
+    @Query("UPDATE User u SET u.isActive = false, u.updatedAt = :now WHERE u.id = :id AND u.isActive = true")
+    int deactivate(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
     @Query("SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId")
     long countPostsByUserId(@Param("userId") Long userId);
     
@@ -0,0 +1,152 @@
+package com.tangle.service;
+
+import com.tangle.cache.CoalescingCache;
+import com.tangle.entity.ArchivedComment;
+import com.tangle.entity.ArchivedPost;
+import com.tangle.entity.Comment;
+import com.tangle.entity.Post;
+import com.tangle.entity.User;
+import com.tangle.repository.ArchivedCommentRepository;
+import com.tangle.repository.ArchivedPostRepository;
+import com.tangle.repository.CommentRepository;
+import com.tangle.repository.CommunityRepository;
+import com.tangle.repository.PostRepository;
+import com.tangle.repository.UserRepository;
+import com.tangle.shard.ShardMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves old posts and their comments out of the hot tables into the archive
+ * tables, so feed, search and stats queries only ever scan recent rows.
+ */
+@Service
+public class ArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveService.class);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ArchivedPostRepository archivedPostRepository;
+
+    @Autowired
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private CoalescingCache<Long, Post> postCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Value("${app.archive.post-age-days:180}")
+    private int postAgeDays;
+
+    @Value("${app.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.archive.max-batches:50}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:3600000}", initialDelayString = "${app.archive.initial-delay-ms:900000}")
+    public void archiveOldPosts() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(postAgeDays);
+        shardMap.forEachShard(shard -> {
+            if (shardMap.hasReadOnlyCommunity(shard)) {
+                logger.info("Archiving on {} skipped while a community is being moved", shard);
+                return;
+            }
+            int archived = 0;
+            for (int batch = 0; batch < maxBatches; batch++) {
+                List<Long> ids = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                archived += ids.size();
+                ids.forEach(postCache::invalidate);
+                if (ids.size() < batchSize) {
+                    break;
+                }
+            }
+            if (archived > 0) {
+                logger.info("Archived {} posts on {} created before {}", archived, shard, cutoff);
+            }
+        });
+    }
+
+    /**
+     * The archived copy of a post, unless it had been taken down before it was archived.
+     */
+    public Optional<Post> findArchivedPost(Long id) {
+        return archivedPostRepository.findByIdAndIsActiveTrue(id).map(archived -> {
+            Post post = archived.toPost();
+            if (archived.getUserId() != null) {
+                userRepository.findById(archived.getUserId()).ifPresent(post::setUser);
+            }
+            if (archived.getCommunityId() != null) {
+                communityRepository.findById(archived.getCommunityId()).ifPresent(post::setCommunity);
+            }
+            return post;
+        });
+    }
+
+    /**
+     * Active comments of an archived post, newest first as for live posts; empty if the
+     * post is not in the archive or was taken down.
+     */
+    public List<Comment> findArchivedComments(Long postId) {
+        Optional<Post> post = findArchivedPost(postId);
+        if (post.isEmpty()) {
+            return List.of();
+        }
+        List<ArchivedComment> archived = archivedCommentRepository.findByPostIdAndIsActiveTrueOrderByCreatedAtDesc(postId);
+        Map<Long, User> users = userRepository.findAllById(archived.stream().map(ArchivedComment::getUserId)
+                        .filter(Objects::nonNull).distinct().collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return archived.stream().map(comment -> {
+            Comment copy = comment.toComment();
+            copy.setPost(post.get());
+            copy.setUser(users.get(comment.getUserId()));
+            return copy;
+        }).collect(Collectors.toList());
+    }
+
+    public long countArchivedComments(Long postId) {
+        return archivedCommentRepository.countByPostIdAndIsActiveTrue(postId);
+    }
+
+    private List<Long> archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = postRepository.findArchivableIds(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        archivedPostRepository.copyFromPosts(ids);
+        archivedCommentRepository.copyFromCommentsOfPosts(ids);
+        commentRepository.deleteByPostIdIn(ids);
+        postRepository.deleteByIdIn(ids);
+        return ids;
+    }
+}
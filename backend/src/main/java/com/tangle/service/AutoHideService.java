@@ -0,0 +1,120 @@
+package com.tangle.service;
+
+import com.tangle.cache.CoalescingCache;
+import com.tangle.entity.ChangeOperation;
+import com.tangle.entity.ChangeType;
+import com.tangle.entity.Comment;
+import com.tangle.entity.ModerationAction;
+import com.tangle.entity.ModerationActionType;
+import com.tangle.entity.Post;
+import com.tangle.geo.GeoIndex;
+import com.tangle.moderation.AutoHideEvaluator;
+import com.tangle.repository.ModerationActionRepository;
+import com.tangle.repository.PostRepository;
+import com.tangle.shard.ShardContext;
+import com.tangle.shard.ShardMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Hides posts whose report score crossed the auto-hide threshold and restores them
+ * once dismissals bring it back under. Hiding clears is_active, so feeds, search and
+ * ETags drop the post on their next query; the per-post caches and the geo index
+ * are evicted right away. Every transition is recorded in moderation_actions.
+ */
+@Service
+public class AutoHideService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutoHideService.class);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ModerationActionRepository moderationActionRepository;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private GeoIndex geoIndex;
+
+    @Autowired
+    private CoalescingCache<Long, Post> postCache;
+
+    @Autowired
+    private CoalescingCache<Long, List<Comment>> postCommentsCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    /**
+     * Hides or restores the post for a HIDE or RELEASE transition. A post already in
+     * that state, or hidden by its author, is left alone and not audited again.
+     */
+    public void apply(AutoHideEvaluator.Evaluation evaluation, double threshold, String trigger) {
+        if (evaluation == null || evaluation.transition() == AutoHideEvaluator.Transition.NONE) {
+            return;
+        }
+        boolean hide = evaluation.transition() == AutoHideEvaluator.Transition.HIDE;
+        Long postId = evaluation.postId();
+        Long communityId = evaluation.communityId();
+        if (shardMap.isReadOnly(communityId)) {
+            // The rebuild after the move applies it on the community's new shard
+            logger.info("Post {} left as is while community {} is being moved", postId, communityId);
+            return;
+        }
+
+        Boolean changed = ShardContext.callOn(shardMap.shardFor(communityId), () -> transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int updated = hide ? postRepository.quarantine(postId, now) : postRepository.release(postId, now);
+            if (updated == 0) {
+                return false;
+            }
+            ModerationAction action = new ModerationAction();
+            action.setPostId(postId);
+            action.setCommunityId(communityId);
+            action.setAction(hide ? ModerationActionType.QUARANTINED : ModerationActionType.RELEASED);
+            action.setScore(evaluation.score());
+            action.setThreshold(threshold);
+            action.setReportIds(evaluation.reportIds().stream().map(String::valueOf).collect(Collectors.joining(",")));
+            action.setTrigger(trigger);
+            moderationActionRepository.save(action);
+            syncService.recordChange(ChangeType.POST, postId, communityId, null, hide ? ChangeOperation.DELETE : ChangeOperation.UPSERT);
+            return true;
+        }));
+        if (!Boolean.TRUE.equals(changed)) {
+            return;
+        }
+
+        postCache.invalidate(postId);
+        postCommentsCache.invalidate(postId);
+        if (hide) {
+            geoIndex.removePost(postId, communityId);
+        } else {
+            ShardContext.callOn(shardMap.shardFor(communityId), () -> postRepository.findLocationById(postId))
+                    .ifPresent(location -> geoIndex.indexPost(postId, communityId, location.latitude(), location.longitude()));
+        }
+        logger.info("Post {} {} with report score {} (threshold {}, reports {}) after {}", postId,
+                hide ? "quarantined" : "released", evaluation.score(), threshold, evaluation.reportIds(), trigger);
+    }
+
+    public List<ModerationAction> getActionsForPost(Long postId) {
+        return moderationActionRepository.findByPostIdOrderByIdDesc(postId);
+    }
+
+    public List<ModerationAction> getActionsForCommunity(Long communityId, Pageable pageable) {
+        return moderationActionRepository.findByCommunityIdOrderByIdDesc(communityId, pageable);
+    }
+}
@@ -0,0 +1,317 @@
+package com.tangle.service;
+
+import com.tangle.audit.AuditEventType;
+import com.tangle.audit.AuditLog;
+import com.tangle.cache.CoalescingCache;
+import com.tangle.dto.ModerationReport;
+import com.tangle.dto.PostLocation;
+import com.tangle.entity.ChangeOperation;
+import com.tangle.entity.ChangeType;
+import com.tangle.entity.Comment;
+import com.tangle.entity.Post;
+import com.tangle.entity.ReportStatus;
+import com.tangle.entity.User;
+import com.tangle.geo.GeoIndex;
+import com.tangle.logging.LogContext;
+import com.tangle.moderation.BulkJob;
+import com.tangle.moderation.ModerationProperties;
+import com.tangle.repository.CommentRepository;
+import com.tangle.repository.PostRepository;
+import com.tangle.repository.ReportRepository;
+import com.tangle.repository.UserRepository;
+import com.tangle.shard.ShardContext;
+import com.tangle.shard.ShardMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves or dismisses many reports, deactivates many posts, or deactivates a user
+ * with all their posts and comments, as background jobs polled by id. Each batch is
+ * one set-based update per shard in its own transaction, so a large job never holds
+ * long locks and a failure keeps the batches already done. Jobs run one at a time.
+ * <p>
+ * Moderators act on their own community only; admins on any.
+ */
+@Lazy
+@Service
+public class BulkModerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkModerationService.class);
+
+    private static final Set<ReportStatus> BULK_STATUSES = EnumSet.of(ReportStatus.RESOLVED, ReportStatus.DISMISSED);
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ModerationService moderationService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private GeoIndex geoIndex;
+
+    @Autowired
+    private CoalescingCache<Long, Post> postCache;
+
+    @Autowired
+    private CoalescingCache<Long, List<Comment>> postCommentsCache;
+
+    @Autowired
+    private ModerationProperties properties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bulk-moderation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, BulkJob> jobs = new ConcurrentHashMap<>();
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public BulkJob updateReportStatus(List<Long> reportIds, String status, User moderator) {
+        Long scope = scopeOf(moderator);
+        ReportStatus target = ReportStatus.valueOf(status.toUpperCase());
+        if (!BULK_STATUSES.contains(target)) {
+            throw new RuntimeException("Reports can only be resolved or dismissed in bulk");
+        }
+        List<Long> ids = requireIds(reportIds);
+        return submit(new BulkJob(BulkJob.Type.REPORT_STATUS, ids.size(), moderator.getId(), scope), job -> {
+            for (List<Long> batch : batches(ids)) {
+                int changed = 0;
+                for (String shard : shardMap.getShardNames()) {
+                    changed += ShardContext.callOn(shard, () -> updateReportBatch(shard, batch, target, scope, job));
+                }
+                job.progress(batch.size(), changed);
+            }
+        });
+    }
+
+    public BulkJob deactivatePosts(List<Long> postIds, User moderator) {
+        Long scope = scopeOf(moderator);
+        List<Long> ids = requireIds(postIds);
+        return submit(new BulkJob(BulkJob.Type.DEACTIVATE_POSTS, ids.size(), moderator.getId(), scope), job -> {
+            for (List<Long> batch : batches(ids)) {
+                int changed = 0;
+                for (String shard : shardMap.getShardNames()) {
+                    changed += ShardContext.callOn(shard, () -> deactivatePostBatch(shard, batch, scope));
+                }
+                job.progress(batch.size(), changed);
+            }
+        });
+    }
+
+    /**
+     * Deactivates the user first, so no new content slips in behind the job, then their
+     * comments and posts.
+     */
+    public BulkJob deactivateUser(Long userId, User moderator) {
+        Long scope = scopeOf(moderator);
+        User user = shardMap.findOnAnyShard(() -> userRepository.findById(userId))
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Long communityId = user.getCommunity() != null ? user.getCommunity().getId() : null;
+        if (scope != null && !scope.equals(communityId)) {
+            throw new RuntimeException("User not found");
+        }
+        String shard = shardMap.shardFor(communityId);
+        return submit(new BulkJob(BulkJob.Type.DEACTIVATE_USER, 0, moderator.getId(), scope), job -> ShardContext.runOn(shard, () -> {
+            long comments = commentRepository.countActiveByUserId(userId);
+            long posts = postRepository.countDeactivatableByUserId(userId);
+            job.setTotal((int) (1 + comments + posts));
+
+            shardMap.requireWritable(communityId);
+            Integer deactivated = transactionTemplate.execute(status -> userRepository.deactivate(userId, LocalDateTime.now()));
+            job.progress(1, deactivated);
+            if (deactivated > 0) {
+                auditLog.record(AuditEventType.USER_DEACTIVATED, job.getRequestedBy(), userId, communityId, "bulk job " + job.getId());
+            }
+
+            int batchSize = properties.getBulk().getBatchSize();
+            while (true) {
+                List<Object[]> rows = commentRepository.findActiveIdsByUserId(userId, PageRequest.of(0, batchSize));
+                int changed = deactivateCommentBatch(rows);
+                job.progress(rows.size(), changed);
+                if (rows.size() < batchSize || changed == 0) {
+                    break;
+                }
+            }
+            while (true) {
+                List<Long> ids = postRepository.findDeactivatableIdsByUserId(userId, PageRequest.of(0, batchSize));
+                int changed = ids.isEmpty() ? 0 : deactivatePostBatch(shard, ids, null);
+                job.progress(ids.size(), changed);
+                if (ids.size() < batchSize || changed == 0) {
+                    break;
+                }
+            }
+        }));
+    }
+
+    // Moderators see the jobs of their own community, admins every job
+    public BulkJob getJob(String jobId, User moderator) {
+        Long scope = scopeOf(moderator);
+        BulkJob job = jobs.get(jobId);
+        if (job == null || (scope != null && !scope.equals(job.getScope()))) {
+            throw new RuntimeException("Job not found");
+        }
+        return job;
+    }
+
+    private int updateReportBatch(String shard, List<Long> ids, ReportStatus target, Long scope, BulkJob job) {
+        List<ModerationReport> changed = transactionTemplate.execute(status -> {
+            // Rows of communities homed elsewhere are stale copies left by an unfinished move
+            List<ModerationReport> reports = reportRepository.findModerationReportsByIdIn(ids).stream()
+                    .filter(report -> report.status() != target)
+                    .filter(report -> shard.equals(shardMap.shardFor(report.communityId())))
+                    .filter(report -> scope == null || scope.equals(report.communityId()))
+                    .collect(Collectors.toList());
+            if (reports.isEmpty()) {
+                return reports;
+            }
+            reportRepository.updateStatusByIdIn(reports.stream().map(ModerationReport::reportId).collect(Collectors.toList()),
+                    target, LocalDateTime.now());
+            for (ModerationReport report : reports) {
+                syncService.recordChange(ChangeType.REPORT, report.reportId(), report.communityId(), report.reporterId(), ChangeOperation.UPSERT);
+            }
+            return reports;
+        });
+        moderationService.reportsStatusChanged(changed, target, "bulk job " + job.getId());
+        for (ModerationReport report : changed) {
+            auditLog.record(AuditEventType.REPORT_STATUS_CHANGED, job.getRequestedBy(), report.reportId(), report.communityId(),
+                    report.status() + " -> " + target + " in bulk job " + job.getId());
+        }
+        return changed.size();
+    }
+
+    private int deactivatePostBatch(String shard, List<Long> ids, Long scope) {
+        List<PostLocation> posts = transactionTemplate.execute(status -> {
+            List<PostLocation> found = postRepository.findDeactivatableByIdIn(ids).stream()
+                    .filter(post -> shard.equals(shardMap.shardFor(post.communityId())))
+                    .filter(post -> scope == null || scope.equals(post.communityId()))
+                    .collect(Collectors.toList());
+            if (found.isEmpty()) {
+                return found;
+            }
+            postRepository.deactivateByIdIn(found.stream().map(PostLocation::postId).collect(Collectors.toList()), LocalDateTime.now());
+            for (PostLocation post : found) {
+                syncService.recordChange(ChangeType.POST, post.postId(), post.communityId(), null, ChangeOperation.DELETE);
+            }
+            return found;
+        });
+        for (PostLocation post : posts) {
+            postCache.invalidate(post.postId());
+            postCommentsCache.invalidate(post.postId());
+            geoIndex.removePost(post.postId(), post.communityId());
+        }
+        return posts.size();
+    }
+
+    // Rows of [comment id, post id, community id]
+    private int deactivateCommentBatch(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Integer changed = transactionTemplate.execute(status -> {
+            int updated = commentRepository.deactivateByIdIn(rows.stream().map(row -> (Long) row[0]).collect(Collectors.toList()),
+                    LocalDateTime.now());
+            for (Object[] row : rows) {
+                syncService.recordChange(ChangeType.COMMENT, (Long) row[0], (Long) row[2], null, ChangeOperation.DELETE);
+            }
+            return updated;
+        });
+        rows.stream().map(row -> (Long) row[1]).distinct().forEach(postCommentsCache::invalidate);
+        return changed;
+    }
+
+    private BulkJob submit(BulkJob job, Consumer<BulkJob> work) {
+        pruneFinishedJobs();
+        jobs.put(job.getId(), job);
+        executor.submit(LogContext.wrap(() -> {
+            job.start();
+            try {
+                work.accept(job);
+                job.finish();
+                logger.info("Bulk job {} {} finished: {} of {} processed, {} changed, requested by user {}", job.getId(),
+                        job.getType(), job.getProcessed(), job.getTotal(), job.getChanged(), job.getRequestedBy());
+            } catch (Exception e) {
+                logger.error("Bulk job {} {} failed after {} of {}", job.getId(), job.getType(), job.getProcessed(), job.getTotal(), e);
+                job.fail(e.getMessage());
+            }
+        }));
+        return job;
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(properties.getBulk().getJobRetentionMinutes());
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private List<Long> requireIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new RuntimeException("At least one id is required");
+        }
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (distinct.size() > properties.getBulk().getMaxIds()) {
+            throw new RuntimeException("At most " + properties.getBulk().getMaxIds() + " ids can be processed at once");
+        }
+        return distinct;
+    }
+
+    private List<List<Long>> batches(List<Long> ids) {
+        int batchSize = properties.getBulk().getBatchSize();
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            batches.add(ids.subList(from, Math.min(from + batchSize, ids.size())));
+        }
+        return batches;
+    }
+
+    // The community a moderator may act on, or null for admins
+    private Long scopeOf(User moderator) {
+        return userService.getModerationScope(moderator);
+    }
+}
@@ -1,5 +1,8 @@
 package com.tangle.service;
 
+import com.tangle.cache.CoalescingCache;
+import com.tangle.entity.ChangeOperation;
+import com.tangle.entity.ChangeType;
 import com.tangle.entity.Comment;
 import com.tangle.entity.Post;
 import com.tangle.entity.User;
@@ -8,6 +11,7 @@ import com.tangle.repository.PostRepository;
 import com.tangle.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,8 +28,20 @@ public class CommentService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CoalescingCache<Long, List<Comment>> postCommentsCache;
+
     public List<Comment> getCommentsByPostId(Long postId) {
-        return commentRepository.findByPostIdOrderByCreatedAtDesc(postId);
+        return postService.getCommentsByPost(postId);
     }
 
     public Comment addComment(Comment comment, String userEmail) {
@@ -40,11 +56,17 @@ public class CommentService {
         comment.setCreatedAt(LocalDateTime.now());
         comment.setUpdatedAt(LocalDateTime.now());
 
-        return commentRepository.save(comment);
+        Comment saved = transactionTemplate.execute(status -> {
+            Comment created = commentRepository.save(comment);
+            syncService.recordChange(ChangeType.COMMENT, created.getId(), post.getCommunity().getId(), user.getId(), ChangeOperation.UPSERT);
+            return created;
+        });
+        postCommentsCache.invalidate(post.getId());
+        return saved;
     }
 
     public void deleteComment(Long commentId, String userEmail) {
-        Comment comment = commentRepository.findById(commentId)
+        Comment comment = commentRepository.findByIdWithPost(commentId)
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
 
         User user = userRepository.findByEmailOrPhoneNumber(userEmail, userEmail)
@@ -56,7 +78,12 @@ public class CommentService {
             throw new RuntimeException("Not authorized to delete this comment");
         }
 
-        commentRepository.delete(comment);
+        comment.setIsActive(false);
+        transactionTemplate.executeWithoutResult(status -> {
+            commentRepository.save(comment);
+            syncService.recordChange(ChangeType.COMMENT, commentId, comment.getPost().getCommunity().getId(), user.getId(), ChangeOperation.DELETE);
+        });
+        postCommentsCache.invalidate(comment.getPost().getId());
     }
 
     public List<Comment> getCommentsByUserId(Long userId) {
@@ -1,12 +1,19 @@
 package com.tangle.service;
 
+import com.tangle.dto.CommunityResponse;
+import com.tangle.dto.NearbyResponse;
 import com.tangle.entity.Community;
+import com.tangle.geo.GeoIndex;
 import com.tangle.repository.CommunityRepository;
+import com.tangle.shard.ShardContext;
+import com.tangle.shard.ShardMap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class CommunityService {
@@ -14,16 +21,28 @@ public class CommunityService {
     @Autowired
     private CommunityRepository communityRepository;
 
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private GeoIndex geoIndex;
+
+    @Value("${app.geo.max-radius-km:50}")
+    private double maxRadiusKm;
+
+    @Value("${app.geo.max-results:100}")
+    private int maxResults;
+
     public List<Community> getAllCommunities() {
-        return communityRepository.findAll();
+        return shardMap.collectFromEachShard(communityRepository::findAll, Community::getId);
     }
 
     public Optional<Community> getCommunityById(Long id) {
-        return communityRepository.findById(id);
+        return ShardContext.callOn(shardMap.shardFor(id), () -> communityRepository.findById(id));
     }
 
     public Optional<Community> getCommunityByCode(String code) {
-        return communityRepository.findByCommunityCode(code);
+        return shardMap.findOnAnyShard(() -> communityRepository.findByCommunityCode(code));
     }
 
     public Community createCommunity(Community community) {
@@ -31,11 +50,26 @@ public class CommunityService {
         if (community.getCommunityCode() == null || community.getCommunityCode().isEmpty()) {
             community.setCommunityCode(generateCommunityCode(community.getName()));
         }
-        return communityRepository.save(community);
+        GeoIndex.requireCoordinates(community.getLatitude(), community.getLongitude());
+        // New communities start on the default shard and are moved by rebalancing
+        Community saved = ShardContext.callOn(shardMap.getDefaultShard(), () -> communityRepository.save(community));
+        geoIndex.indexCommunity(saved);
+        return saved;
+    }
+
+    /**
+     * The closest communities to the point, nearest first, so users near a city or
+     * pincode boundary also find the communities just across it.
+     */
+    public List<NearbyResponse<CommunityResponse>> getNearbyCommunities(double latitude, double longitude, int limit, Double radiusKm) {
+        double radius = radiusKm != null ? Math.min(radiusKm, maxRadiusKm) : maxRadiusKm;
+        return geoIndex.nearestCommunities(latitude, longitude, Math.min(Math.max(limit, 1), maxResults), radius).stream()
+            .map(hit -> new NearbyResponse<>(hit.value(), hit.distanceKm()))
+            .collect(Collectors.toList());
     }
 
     public List<Community> searchCommunities(String query) {
-        return communityRepository.searchCommunities(query);
+        return shardMap.collectFromEachShard(() -> communityRepository.searchCommunities(query), Community::getId);
     }
 
     private String generateCommunityCode(String name) {
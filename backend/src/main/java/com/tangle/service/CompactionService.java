@@ -0,0 +1,97 @@
+package com.tangle.service;
+
+import com.tangle.repository.CommentRepository;
+import com.tangle.repository.PostRepository;
+import com.tangle.shard.ShardMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Physically removes soft-deleted comments and posts once they are past the
+ * retention window. Each batch runs in its own short transaction so purges
+ * never hold locks on the hot tables for long.
+ */
+@Service
+public class CompactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactionService.class);
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Value("${app.compaction.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${app.compaction.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.compaction.max-batches:100}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${app.compaction.interval-ms:3600000}", initialDelayString = "${app.compaction.initial-delay-ms:600000}")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        shardMap.forEachShard(shard -> {
+            if (shardMap.hasReadOnlyCommunity(shard)) {
+                logger.info("Compaction on {} skipped while a community is being moved", shard);
+                return;
+            }
+            int comments = purgeComments(cutoff);
+            int posts = purgePosts(cutoff);
+            if (comments > 0 || posts > 0) {
+                logger.info("Compaction purged {} comments and {} posts on {} inactive since before {}", comments, posts, shard, cutoff);
+            }
+        });
+    }
+
+    public int purgeComments(LocalDateTime cutoff) {
+        int purged = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = commentRepository.findInactiveIdsUpdatedBefore(cutoff, batchSize);
+                return ids.isEmpty() ? 0 : commentRepository.deleteByIdIn(ids);
+            });
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        return purged;
+    }
+
+    public int purgePosts(LocalDateTime cutoff) {
+        int purged = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = postRepository.findPurgeableIdsUpdatedBefore(cutoff, batchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                commentRepository.deleteByPostIdIn(ids);
+                return postRepository.deleteByIdIn(ids);
+            });
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,63 @@
+package com.tangle.service;
+
+import com.tangle.dto.ContentVersion;
+import com.tangle.repository.CommentRepository;
+import com.tangle.repository.CommunityRepository;
+import com.tangle.repository.PostRepository;
+import com.tangle.shard.ShardContext;
+import com.tangle.shard.ShardMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+public class ContentVersionService {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    // Post responses carry a comment count, so comment changes must change these too
+    public ContentVersion getFeedVersion(Long communityId) {
+        return postRepository.findVersionByCommunityId(communityId)
+                .combine(commentRepository.findVersionByCommunityId(communityId));
+    }
+
+    public ContentVersion getPostVersion(Long postId) {
+        ContentVersion version = existing(postRepository.findVersionById(postId));
+        return version != null ? version.combine(commentRepository.findVersionByPostId(postId)) : null;
+    }
+
+    public ContentVersion getCommentsVersion(Long postId) {
+        return commentRepository.findVersionByPostId(postId);
+    }
+
+    public ContentVersion getCommunitiesVersion() {
+        return shardMap.queryEachShard(communityRepository::findVersionOfAll).stream()
+                .reduce(new ContentVersion(0L, null), ContentVersion::combine);
+    }
+
+    public ContentVersion getCommunityVersion(Long communityId) {
+        return ShardContext.callOn(shardMap.shardFor(communityId),
+                () -> existing(communityRepository.findVersionById(communityId)));
+    }
+
+    public ContentVersion getCommunityVersionByCode(String communityCode) {
+        return shardMap.findOnAnyShard(() -> Optional.ofNullable(existing(communityRepository.findVersionByCommunityCode(communityCode))))
+                .orElse(null);
+    }
+
+    // Missing rows fall through to the normal not-found handling
+    private ContentVersion existing(ContentVersion version) {
+        return version != null && version.getCount() > 0 ? version : null;
+    }
+}
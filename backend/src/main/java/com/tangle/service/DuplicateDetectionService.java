@@ -0,0 +1,223 @@
+package com.tangle.service;
+
+import com.tangle.cache.RebuildableIndex;
+import com.tangle.dto.PostContent;
+import com.tangle.entity.ChangeOperation;
+import com.tangle.entity.ChangeType;
+import com.tangle.entity.Post;
+import com.tangle.entity.Report;
+import com.tangle.entity.ReportStatus;
+import com.tangle.entity.ReportType;
+import com.tangle.health.Warmable;
+import com.tangle.logging.LogContext;
+import com.tangle.moderation.ContentFingerprint;
+import com.tangle.moderation.DuplicateIndex;
+import com.tangle.moderation.ModerationProperties;
+import com.tangle.repository.PostRepository;
+import com.tangle.repository.ReportRepository;
+import com.tangle.shard.ShardContext;
+import com.tangle.shard.ShardMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Fingerprints new posts after they are saved and files a spam report for any post
+ * that nearly repeats one posted in the window, by the same user or another, in any
+ * community. The report goes through the moderation queue and auto-hide like one
+ * filed by a member. Fingerprinting runs on a small bounded pool so creating a post
+ * never waits for it; a post dropped by a full queue is still indexed by the next
+ * rebuild, but not checked.
+ */
+@Service
+public class DuplicateDetectionService implements Warmable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateDetectionService.class);
+
+    // Matched posts named in a report's reason
+    private static final int MAX_LISTED_MATCHES = 5;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ModerationService moderationService;
+
+    @Autowired
+    private ModerationProperties properties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    private ThreadPoolExecutor executor;
+
+    private RebuildableIndex<DuplicateIndex> index;
+
+    @PostConstruct
+    public void init() {
+        ModerationProperties.Duplicates duplicates = properties.getDuplicates();
+        index = new RebuildableIndex<>(newIndex());
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(duplicates.getWorkers(), duplicates.getWorkers(), 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(duplicates.getQueueCapacity()), runnable -> {
+                Thread thread = new Thread(runnable, "duplicate-detection-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Override
+    public String getWarmupName() {
+        return "duplicate-index";
+    }
+
+    @Override
+    public boolean isWarm() {
+        return !properties.getDuplicates().isEnabled() || index.isWarm();
+    }
+
+    @Scheduled(fixedDelayString = "${app.moderation.rebuild-ms:600000}", initialDelayString = "${app.moderation.rebuild-ms:600000}")
+    public void rebuild() {
+        ModerationProperties.Duplicates duplicates = properties.getDuplicates();
+        if (!duplicates.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        DuplicateIndex rebuilt = index.rebuild(() -> {
+            LocalDateTime since = LocalDateTime.now().minusMinutes((long) (duplicates.getWindowHours() * 60));
+            List<PostContent> posts = shardMap.collectFromEachShard(() -> postRepository.findContentCreatedSince(since),
+                PostContent::communityId);
+            posts.sort(Comparator.comparing(PostContent::createdAt));
+            DuplicateIndex newIndex = newIndex();
+            for (PostContent post : posts) {
+                ContentFingerprint fingerprint = fingerprint(post.title(), post.description());
+                if (fingerprint != null) {
+                    newIndex.add(post.postId(), post.userId(), post.communityId(), post.createdAt(), fingerprint);
+                }
+            }
+            return newIndex;
+        });
+        logger.info("Duplicate index rebuilt with {} recent posts in {} ms", rebuilt.size(),
+            System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Queues the saved post for a duplicate check; returns at once.
+     */
+    public void postCreated(Post post) {
+        if (!properties.getDuplicates().isEnabled()) {
+            return;
+        }
+        PostContent content = new PostContent(post.getId(), post.getUser().getId(), post.getCommunity().getId(),
+            post.getTitle(), post.getDescription(), post.getCreatedAt() != null ? post.getCreatedAt() : LocalDateTime.now());
+        try {
+            executor.execute(LogContext.wrap(() -> {
+                try {
+                    check(content);
+                } catch (RuntimeException e) {
+                    logger.error("Duplicate check of post {} failed", content.postId(), e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Duplicate detection queue is full, skipping post {}", content.postId());
+        }
+    }
+
+    private void check(PostContent post) {
+        ContentFingerprint fingerprint = fingerprint(post.title(), post.description());
+        if (fingerprint == null) {
+            return;
+        }
+        List<DuplicateIndex.Match> matches = index.compute(
+            current -> current.add(post.postId(), post.userId(), post.communityId(), post.createdAt(), fingerprint));
+        if (!matches.isEmpty()) {
+            report(post, matches);
+        }
+    }
+
+    private void report(PostContent post, List<DuplicateIndex.Match> matches) {
+        String reason = reasonFor(post, matches);
+        ShardContext.runOn(shardMap.shardFor(post.communityId()), () -> {
+            Report saved = transactionTemplate.execute(status -> {
+                // Skipped if the post was removed or hidden in the meantime
+                Post reported = postRepository.findById(post.postId()).orElse(null);
+                if (reported == null) {
+                    return null;
+                }
+                Report report = new Report();
+                report.setReason(reason);
+                report.setType(ReportType.SPAM);
+                report.setPost(reported);
+                report.setReportedUser(reported.getUser());
+                report.setStatus(ReportStatus.PENDING);
+                Report created = reportRepository.save(report);
+                syncService.recordChange(ChangeType.REPORT, created.getId(), post.communityId(), null, ChangeOperation.UPSERT);
+                return created;
+            });
+            if (saved != null) {
+                logger.info("Post {} reported as a near-duplicate of {}", post.postId(),
+                    matches.stream().map(DuplicateIndex.Match::postId).collect(Collectors.toList()));
+                moderationService.reportCreated(saved.getId());
+            }
+        });
+    }
+
+    private String reasonFor(PostContent post, List<DuplicateIndex.Match> matches) {
+        String listed = matches.stream()
+            .limit(MAX_LISTED_MATCHES)
+            .map(match -> String.format(Locale.ROOT, "post %d (%s, %.0f%% similar)", match.postId(),
+                post.userId().equals(match.userId()) ? "same user" : "user " + match.userId(), match.similarity() * 100))
+            .collect(Collectors.joining(", "));
+        int unlisted = matches.size() - Math.min(matches.size(), MAX_LISTED_MATCHES);
+        return "Automatic check: near-duplicate of " + listed + (unlisted > 0 ? " and " + unlisted + " more" : "")
+            + " within " + (long) properties.getDuplicates().getWindowHours() + " hours";
+    }
+
+    private ContentFingerprint fingerprint(String title, String description) {
+        ModerationProperties.Duplicates duplicates = properties.getDuplicates();
+        return ContentFingerprint.of(title, description, duplicates.getHashes(), duplicates.getMinTokens());
+    }
+
+    private DuplicateIndex newIndex() {
+        ModerationProperties.Duplicates duplicates = properties.getDuplicates();
+        return new DuplicateIndex(duplicates.getBands(), duplicates.getWindowHours(), duplicates.getSimilarity(),
+            duplicates.getMaxDistance());
+    }
+}
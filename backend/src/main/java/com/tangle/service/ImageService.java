@@ -0,0 +1,360 @@
+package com.tangle.service;
+
+import com.tangle.dto.ImageResponse;
+import com.tangle.logging.LogContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Stores uploaded images on local disk under the SHA-256 of their bytes, so the same
+ * photo uploaded twice is kept once:
+ * <pre>
+ *   {storage-dir}/ab/abcdef.../original.jpg
+ *                             /thumb.jpg
+ *                             /medium.jpg
+ * </pre>
+ * Thumbnail and medium renditions are rendered as JPEG on a small bounded pool after
+ * the upload returns. Files never change once written, so they can be cached forever.
+ */
+@Service
+public class ImageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageService.class);
+
+    private static final Pattern IMAGE_ID = Pattern.compile("[0-9a-f]{64}");
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+        "jpg", "image/jpeg",
+        "png", "image/png",
+        "gif", "image/gif"
+    );
+
+    public enum Variant {
+        ORIGINAL, THUMB, MEDIUM;
+
+        public static Variant parse(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Image variant not found: " + name);
+            }
+        }
+    }
+
+    @Value("${app.images.storage-dir:./data/images}")
+    private Path storageDir;
+
+    @Value("${app.images.thumbnail-size:320}")
+    private int thumbnailSize;
+
+    @Value("${app.images.medium-size:1280}")
+    private int mediumSize;
+
+    @Value("${app.images.max-pixels:40000000}")
+    private long maxPixels;
+
+    @Value("${app.images.workers:2}")
+    private int workers;
+
+    @Value("${app.images.queue-capacity:100}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    private final Set<String> rendering = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(storageDir.resolve("tmp"));
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "image-renditions-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ImageResponse store(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new RuntimeException("Image file is required");
+        }
+        Path temp = null;
+        try {
+            // Hash while streaming to disk, so large uploads are never held in memory
+            temp = Files.createTempFile(storageDir.resolve("tmp"), "upload-", ".part");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String id = HexFormat.of().formatHex(digest.digest());
+            ImageInfo info = inspect(temp);
+
+            Path original = directory(id).resolve("original." + info.extension);
+            boolean deduplicated = Files.exists(original);
+            if (!deduplicated) {
+                Files.createDirectories(original.getParent());
+                try {
+                    Files.move(temp, original, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // A concurrent upload of the same bytes won the race
+                    deduplicated = true;
+                }
+            }
+            scheduleRenditions(id);
+            return new ImageResponse(id, CONTENT_TYPES.get(info.extension), info.width, info.height,
+                Files.size(original), deduplicated, hasRenditions(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Returns the file for the variant. A rendition that is not ready yet falls back
+     * to the original and is scheduled again in case it was dropped.
+     */
+    public Optional<Path> find(String id, Variant variant) {
+        if (!isImageId(id)) {
+            return Optional.empty();
+        }
+        Optional<Path> original = findOriginal(id);
+        if (variant == Variant.ORIGINAL || original.isEmpty()) {
+            return original;
+        }
+        Path rendition = renditionPath(id, variant);
+        if (Files.exists(rendition)) {
+            return Optional.of(rendition);
+        }
+        scheduleRenditions(id);
+        return original;
+    }
+
+    public boolean exists(String id) {
+        return isImageId(id) && findOriginal(id).isPresent();
+    }
+
+    /**
+     * Checks that every id refers to a stored image, for posts that reference them.
+     */
+    public void requireImages(Collection<String> ids) {
+        for (String id : ids) {
+            if (!exists(id)) {
+                throw new RuntimeException("Image not found: " + id);
+            }
+        }
+    }
+
+    public String contentType(Path file) {
+        String name = file.getFileName().toString();
+        return CONTENT_TYPES.getOrDefault(name.substring(name.lastIndexOf('.') + 1), "application/octet-stream");
+    }
+
+    private boolean isImageId(String id) {
+        return id != null && IMAGE_ID.matcher(id).matches();
+    }
+
+    private Path directory(String id) {
+        return storageDir.resolve(id.substring(0, 2)).resolve(id);
+    }
+
+    private Optional<Path> findOriginal(String id) {
+        for (String extension : CONTENT_TYPES.keySet()) {
+            Path original = directory(id).resolve("original." + extension);
+            if (Files.exists(original)) {
+                return Optional.of(original);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Path renditionPath(String id, Variant variant) {
+        return directory(id).resolve(variant.name().toLowerCase(Locale.ROOT) + ".jpg");
+    }
+
+    private boolean hasRenditions(String id) {
+        return Files.exists(renditionPath(id, Variant.THUMB)) && Files.exists(renditionPath(id, Variant.MEDIUM));
+    }
+
+    private void scheduleRenditions(String id) {
+        if (hasRenditions(id) || !rendering.add(id)) {
+            return;
+        }
+        try {
+            executor.execute(LogContext.wrap(() -> {
+                try {
+                    render(id);
+                } catch (Exception e) {
+                    logger.error("Rendering image {} failed", id, e);
+                } finally {
+                    rendering.remove(id);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            // The original is served until a later request schedules it again
+            rendering.remove(id);
+            logger.warn("Image rendition queue is full, deferring {}", id);
+        }
+    }
+
+    private void render(String id) throws IOException {
+        Path original = findOriginal(id).orElseThrow(() -> new IOException("Original missing for " + id));
+        BufferedImage source = ImageIO.read(original.toFile());
+        if (source == null) {
+            throw new IOException("Unreadable image " + id);
+        }
+        writeJpeg(scale(source, mediumSize), renditionPath(id, Variant.MEDIUM));
+        writeJpeg(scale(source, thumbnailSize), renditionPath(id, Variant.THUMB));
+    }
+
+    /**
+     * Fits the image within maxEdge pixels, halving repeatedly so bilinear filtering
+     * keeps its quality on large reductions. Flattens transparency onto white.
+     */
+    private BufferedImage scale(BufferedImage source, int maxEdge) {
+        double ratio = Math.min(1.0, (double) maxEdge / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(storageDir.resolve("tmp"), "rendition-", ".part");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(0.82f);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Reads the format and dimensions from the header without decoding the pixels,
+     * rejecting anything that is not a supported image or would decode too large.
+     */
+    private ImageInfo inspect(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new RuntimeException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                String extension = extension(reader.getFormatName());
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new RuntimeException("Image is too large: " + width + "x" + height);
+                }
+                return new ImageInfo(extension, width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private String extension(String formatName) {
+        switch (formatName.toLowerCase(Locale.ROOT)) {
+            case "jpeg":
+            case "jpg":
+                return "jpg";
+            case "png":
+                return "png";
+            case "gif":
+                return "gif";
+            default:
+                throw new RuntimeException("Unsupported image format: " + formatName);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}", path, e);
+        }
+    }
+
+    private record ImageInfo(String extension, int width, int height) {
+    }
+}
@@ -5,6 +5,9 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -24,8 +27,16 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     public String generateToken(User user) {
-        return generateToken(new HashMap<>(), user);
+        Map<String, Object> claims = new HashMap<>();
+        if (user.getCommunity() != null) {
+            // Lets requests be routed to the community's shard before the user is loaded
+            claims.put("communityId", user.getCommunity().getId());
+        }
+        return generateToken(claims, user);
     }
     
     public String generateToken(Map<String, Object> extraClaims, User user) {
@@ -42,6 +53,11 @@ public class JwtService {
         return extractClaim(token, Claims::getSubject);
     }
     
+    public Long extractCommunityId(String token) {
+        Object communityId = extractClaim(token, claims -> claims.get("communityId"));
+        return communityId instanceof Number ? ((Number) communityId).longValue() : null;
+    }
+    
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
@@ -75,11 +91,19 @@ public class JwtService {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        } finally {
+            sample.stop(Timer.builder("tangle.jwt.verification")
+                    .description("Time spent parsing and verifying JWT signatures")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
     }
     
     private Key getSigningKey() {
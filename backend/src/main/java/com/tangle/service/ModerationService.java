@@ -0,0 +1,274 @@
+package com.tangle.service;
+
+import com.tangle.cache.RebuildableIndex;
+import com.tangle.dto.ModerationCaseResponse;
+import com.tangle.dto.ModerationReport;
+import com.tangle.dto.PostLocation;
+import com.tangle.entity.ReportStatus;
+import com.tangle.entity.UserRole;
+import com.tangle.health.Warmable;
+import com.tangle.moderation.AutoHideEvaluator;
+import com.tangle.moderation.ModerationProperties;
+import com.tangle.moderation.ModerationQueue;
+import com.tangle.repository.PostRepository;
+import com.tangle.repository.ReportRepository;
+import com.tangle.shard.ShardMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the moderation queue and the auto-hide scores in step with report writes on
+ * this instance. Reporter trust comes from their role, verification and how many of
+ * their past reports were upheld rather than dismissed. A periodic rebuild picks up
+ * reports filed or resolved on other instances, re-weighs open reports with current
+ * trust and reconciles hidden posts with their scores. Upheld reports are only held
+ * for posts that have open reports or are hidden, so the rebuild loads what is under
+ * review rather than every report ever resolved.
+ */
+@Service
+public class ModerationService implements Warmable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModerationService.class);
+
+    public static final Set<ReportStatus> OPEN = EnumSet.of(ReportStatus.PENDING, ReportStatus.UNDER_REVIEW);
+
+    private static final Set<ReportStatus> CLOSED = EnumSet.of(ReportStatus.RESOLVED, ReportStatus.DISMISSED);
+
+    // Reports that count towards auto-hiding: a resolved report upholds it, a dismissed one is dropped
+    private static final Set<ReportStatus> STANDING = EnumSet.of(ReportStatus.PENDING, ReportStatus.UNDER_REVIEW, ReportStatus.RESOLVED);
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ModerationProperties properties;
+
+    @Autowired
+    private AutoHideService autoHideService;
+
+    private RebuildableIndex<State> state;
+
+    // Outcomes map reporter id -> [upheld, dismissed]
+    private record State(ModerationQueue queue, AutoHideEvaluator evaluator, Map<Long, int[]> outcomes) {
+    }
+
+    @PostConstruct
+    public void init() {
+        state = new RebuildableIndex<>(new State(new ModerationQueue(properties.getHalfLifeHours()), newEvaluator(),
+                new HashMap<>()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Override
+    public String getWarmupName() {
+        return "moderation-queue";
+    }
+
+    @Override
+    public boolean isWarm() {
+        return state.isWarm();
+    }
+
+    @Scheduled(fixedDelayString = "${app.moderation.rebuild-ms:600000}", initialDelayString = "${app.moderation.rebuild-ms:600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        State rebuilt = state.rebuild(() -> {
+            Map<Long, int[]> newOutcomes = new HashMap<>();
+            for (List<Object[]> rows : shardMap.queryEachShard(() -> reportRepository.countByReporterAndStatus(CLOSED))) {
+                for (Object[] row : rows) {
+                    if (row[0] != null) {
+                        int[] counts = newOutcomes.computeIfAbsent((Long) row[0], id -> new int[2]);
+                        counts[row[1] == ReportStatus.RESOLVED ? 0 : 1] += ((Long) row[2]).intValue();
+                    }
+                }
+            }
+            List<ModerationReport> reports = shardMap.collectFromEachShard(() -> {
+                List<ModerationReport> standing = new ArrayList<>(reportRepository.findModerationReports(OPEN));
+                standing.addAll(reportRepository.findUpheldReportsOnReportedPosts(ReportStatus.RESOLVED, OPEN));
+                standing.addAll(reportRepository.findUpheldReportsOnQuarantinedPosts(ReportStatus.RESOLVED));
+                return standing;
+            }, ModerationReport::communityId);
+            ModerationQueue newQueue = new ModerationQueue(properties.getHalfLifeHours());
+            AutoHideEvaluator newEvaluator = newEvaluator();
+            for (ModerationReport report : reports) {
+                if (OPEN.contains(report.status())) {
+                    newQueue.add(report, weightOf(report, newOutcomes));
+                }
+                if (report.postId() != null) {
+                    newEvaluator.add(report.reportId(), report.postId(), report.communityId(), report.reporterId(),
+                            properties.weightOf(report.type()));
+                }
+            }
+            return new State(newQueue, newEvaluator, newOutcomes);
+        });
+        logger.info("Moderation queue rebuilt with {} open reports in {} ms", rebuilt.queue().reportCount(),
+                System.currentTimeMillis() - start);
+        reconcileHiddenPosts();
+    }
+
+    public Page<ModerationCaseResponse> getQueue(Long communityId, Pageable pageable) {
+        ModerationQueue current = state.get().queue();
+        return new PageImpl<>(current.page(communityId, pageable.getOffset(), pageable.getPageSize(), LocalDateTime.now()),
+                pageable, current.size(communityId));
+    }
+
+    public void reportCreated(Long reportId) {
+        reportChanged(reportId, ReportStatus.PENDING, "report " + reportId + " filed");
+    }
+
+    /**
+     * Counts a resolution towards the reporter's trust, then queues or dequeues the report.
+     */
+    public void reportStatusChanged(Long reportId, Long reporterId, ReportStatus from, ReportStatus to) {
+        updateOutcomes(reporterId, from, to);
+        reportChanged(reportId, to, "report " + reportId + " " + to);
+    }
+
+    /**
+     * The same for reports changed by one bulk update, given as they were before it,
+     * so nothing is loaded again.
+     */
+    public void reportsStatusChanged(List<ModerationReport> reports, ReportStatus to, String trigger) {
+        for (ModerationReport report : reports) {
+            updateOutcomes(report.reporterId(), report.status(), to);
+            reportChanged(report, to, trigger + ": report " + report.reportId() + " " + to);
+        }
+    }
+
+    public double getAutoHideThreshold() {
+        return properties.getAutoHide().getThreshold();
+    }
+
+    private void updateOutcomes(Long reporterId, ReportStatus from, ReportStatus to) {
+        if (reporterId == null || from == to) {
+            return;
+        }
+        // Not replayed after a rebuild, whose counts may already include it
+        state.writeCurrent(current -> {
+            int[] counts = current.outcomes().computeIfAbsent(reporterId, id -> new int[2]);
+            if (CLOSED.contains(from)) {
+                counts[from == ReportStatus.RESOLVED ? 0 : 1]--;
+            }
+            if (CLOSED.contains(to)) {
+                counts[to == ReportStatus.RESOLVED ? 0 : 1]++;
+            }
+        });
+    }
+
+    private void reportChanged(Long reportId, ReportStatus status, String trigger) {
+        reportRepository.findModerationReportById(reportId).ifPresent(report -> reportChanged(report, status, trigger));
+    }
+
+    private void reportChanged(ModerationReport report, ReportStatus status, String trigger) {
+        Long reportId = report.reportId();
+        state.write(current -> {
+            if (OPEN.contains(status)) {
+                current.queue().add(report, weightOf(report, current.outcomes()));
+            } else {
+                current.queue().remove(reportId);
+            }
+        });
+        if (report.postId() != null) {
+            // A post coming under review brings back the upheld reports the rebuild left out
+            List<ModerationReport> upheld = STANDING.contains(status) && state.get().evaluator().current(report.postId()) == null
+                    ? reportRepository.findModerationReportsByPostIdAndStatus(report.postId(), ReportStatus.RESOLVED)
+                    : List.of();
+            AutoHideEvaluator.Evaluation evaluation = state.compute(current -> STANDING.contains(status)
+                    ? addWithUpheld(current.evaluator(), report, upheld)
+                    : current.evaluator().remove(reportId));
+            autoHideService.apply(evaluation, getAutoHideThreshold(), trigger);
+        }
+    }
+
+    // Reports the transition from before any of the reports were added
+    private AutoHideEvaluator.Evaluation addWithUpheld(AutoHideEvaluator evaluator, ModerationReport report, List<ModerationReport> upheld) {
+        boolean wasOver = evaluator.isOver(report.postId());
+        for (ModerationReport resolved : upheld) {
+            evaluator.add(resolved.reportId(), resolved.postId(), resolved.communityId(), resolved.reporterId(),
+                    properties.weightOf(resolved.type()));
+        }
+        AutoHideEvaluator.Evaluation evaluation = evaluator.add(report.reportId(), report.postId(), report.communityId(),
+                report.reporterId(), properties.weightOf(report.type()));
+        boolean over = evaluator.isOver(report.postId());
+        AutoHideEvaluator.Transition transition = over == wasOver ? AutoHideEvaluator.Transition.NONE
+                : over ? AutoHideEvaluator.Transition.HIDE : AutoHideEvaluator.Transition.RELEASE;
+        return withTransition(evaluation, transition);
+    }
+
+    /**
+     * Hides posts that crossed the threshold through reports filed on several instances,
+     * and restores hidden posts whose reports were dismissed elsewhere.
+     */
+    private void reconcileHiddenPosts() {
+        if (!properties.getAutoHide().isEnabled()) {
+            return;
+        }
+        AutoHideEvaluator current = state.get().evaluator();
+        for (AutoHideEvaluator.Evaluation evaluation : current.over()) {
+            autoHideService.apply(withTransition(evaluation, AutoHideEvaluator.Transition.HIDE), getAutoHideThreshold(), "rebuild");
+        }
+        for (PostLocation hidden : shardMap.collectFromEachShard(postRepository::findQuarantinedLocations, PostLocation::communityId)) {
+            if (!current.isOver(hidden.postId())) {
+                AutoHideEvaluator.Evaluation evaluation = current.current(hidden.postId());
+                autoHideService.apply(new AutoHideEvaluator.Evaluation(AutoHideEvaluator.Transition.RELEASE, hidden.postId(),
+                        hidden.communityId(), evaluation != null ? evaluation.score() : 0,
+                        evaluation != null ? evaluation.reportIds() : List.of()), getAutoHideThreshold(), "rebuild");
+            }
+        }
+    }
+
+    private AutoHideEvaluator.Evaluation withTransition(AutoHideEvaluator.Evaluation evaluation, AutoHideEvaluator.Transition transition) {
+        return new AutoHideEvaluator.Evaluation(transition, evaluation.postId(), evaluation.communityId(),
+                evaluation.score(), evaluation.reportIds());
+    }
+
+    private AutoHideEvaluator newEvaluator() {
+        ModerationProperties.AutoHide autoHide = properties.getAutoHide();
+        // Disabled means the threshold is never reached
+        return new AutoHideEvaluator(autoHide.isEnabled() ? autoHide.getThreshold() : Double.POSITIVE_INFINITY,
+                autoHide.getMinReporters());
+    }
+
+    private double weightOf(ModerationReport report, Map<Long, int[]> outcomes) {
+        return properties.weightOf(report.type()) * trustOf(report, outcomes);
+    }
+
+    private double trustOf(ModerationReport report, Map<Long, int[]> outcomes) {
+        if (report.reporterRole() == UserRole.MODERATOR || report.reporterRole() == UserRole.ADMIN) {
+            return properties.getStaffTrust();
+        }
+        double base = Boolean.TRUE.equals(report.reporterVerified()) ? 1.0 : properties.getUnverifiedTrust();
+        int[] counts = report.reporterId() != null ? outcomes.get(report.reporterId()) : null;
+        int upheld = counts != null ? Math.max(counts[0], 0) : 0;
+        int dismissed = counts != null ? Math.max(counts[1], 0) : 0;
+        // Share of upheld reports, smoothed so new reporters start at 1 and range from 0 to 2
+        return base * 2.0 * (upheld + 1) / (upheld + dismissed + 2);
+    }
+}
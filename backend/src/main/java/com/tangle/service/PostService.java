@@ -1,18 +1,31 @@
 package com.tangle.service;
 
+import com.tangle.audit.AuditEventType;
+import com.tangle.audit.AuditLog;
+import com.tangle.cache.CoalescingCache;
 import com.tangle.dto.PostDto;
+import com.tangle.dto.PostStatsResponse;
 import com.tangle.entity.*;
+import com.tangle.geo.GeoGrid;
+import com.tangle.geo.GeoIndex;
 import com.tangle.repository.CommentRepository;
 import com.tangle.repository.PostRepository;
 import com.tangle.repository.ReportRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class PostService {
@@ -26,6 +39,39 @@ public class PostService {
     @Autowired
     private ReportRepository reportRepository;
 
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private GeoIndex geoIndex;
+
+    @Autowired
+    private ModerationService moderationService;
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.geo.max-radius-km:50}")
+    private double maxRadiusKm;
+
+    @Autowired
+    private CoalescingCache<Long, Post> postCache;
+
+    @Autowired
+    private CoalescingCache<Long, List<Comment>> postCommentsCache;
+
     public Post createPost(PostDto postDto, User user) {
         Post post = new Post();
         post.setTitle(postDto.getTitle());
@@ -37,14 +83,37 @@ public class PostService {
         post.setContactInfo(postDto.getContactInfo());
         post.setPrice(postDto.getPrice());
         post.setLocation(postDto.getLocation());
-        post.setImages(postDto.getImages());
+        GeoIndex.requireCoordinates(postDto.getLatitude(), postDto.getLongitude());
+        post.setLatitude(postDto.getLatitude());
+        post.setLongitude(postDto.getLongitude());
+        if (postDto.getImages() != null) {
+            throw new RuntimeException("images is no longer accepted: upload each image to /images and send the returned ids as imageIds");
+        }
+        if (postDto.getImageIds() != null && !postDto.getImageIds().isEmpty()) {
+            imageService.requireImages(postDto.getImageIds());
+            post.setImages(new ArrayList<>(postDto.getImageIds()));
+        }
         post.setIsUrgent(postDto.getIsUrgent());
         post.setIsFeatured(postDto.getIsFeatured());
         
-        return postRepository.save(post);
+        Post saved = transactionTemplate.execute(status -> {
+            Post created = postRepository.save(post);
+            syncService.recordChange(ChangeType.POST, created.getId(), user.getCommunity().getId(), user.getId(), ChangeOperation.UPSERT);
+            return created;
+        });
+        geoIndex.indexPost(saved.getId(), user.getCommunity().getId(), saved.getLatitude(), saved.getLongitude());
+        duplicateDetectionService.postCreated(saved);
+        auditLog.record(AuditEventType.POST_CREATED, user.getId(), saved.getId(), user.getCommunity().getId(), saved.getCategory().name());
+        return saved;
     }
 
     public Post getPostById(Long id) {
+        return postCache.get(id, () -> postRepository.findByIdWithUserAndCommunity(id)
+            .or(() -> archiveService.findArchivedPost(id))
+            .orElseThrow(() -> new RuntimeException("Post not found")));
+    }
+
+    private Post findPost(Long id) {
         return postRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Post not found"));
     }
@@ -61,36 +130,85 @@ public class PostService {
         return postRepository.searchPostsInCommunity(communityId, searchTerm, pageable);
     }
 
+    /**
+     * Posts of the community within the radius, nearest first. The geo index finds and
+     * orders the ids, so only the requested page is loaded.
+     */
+    public Page<GeoGrid.Hit<Post>> searchPostsNearby(Long communityId, double latitude, double longitude,
+                                                    double radiusKm, Pageable pageable) {
+        List<GeoGrid.Hit<Long>> hits = geoIndex.postsWithin(communityId, latitude, longitude, Math.min(radiusKm, maxRadiusKm));
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        List<GeoGrid.Hit<Long>> pageHits = hits.subList(from, Math.min(from + pageable.getPageSize(), hits.size()));
+        if (pageHits.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.size());
+        }
+        Map<Long, Post> posts = postRepository.findByIdIn(pageHits.stream().map(GeoGrid.Hit::value).collect(Collectors.toList()))
+            .stream().collect(Collectors.toMap(Post::getId, Function.identity()));
+        // Posts hidden since the index was built are skipped
+        List<GeoGrid.Hit<Post>> content = pageHits.stream()
+            .filter(hit -> posts.containsKey(hit.value()))
+            .map(hit -> new GeoGrid.Hit<>(posts.get(hit.value()), hit.distanceKm()))
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.size());
+    }
+
     public List<Post> getPostsByUser(Long userId) {
         return postRepository.findByUserId(userId);
     }
 
-    public Map<String, Object> getPostStats(Long communityId) {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalPosts", postRepository.countByCommunityId(communityId));
-        stats.put("myPosts", 0); // Will be calculated per user
-        stats.put("urgentPosts", postRepository.findUrgentPostsByCommunityId(communityId).size());
-        stats.put("communityMembers", 0); // Will be calculated from user service
-        return stats;
+    public PostStatsResponse getPostStats(Long communityId) {
+        // myPosts and communityMembers are not calculated yet
+        return new PostStatsResponse(postRepository.countByCommunityId(communityId), 0,
+            postRepository.countUrgentPostsByCommunityId(communityId), 0);
+    }
+
+    /**
+     * Comment counts for a page of posts in one grouped query; posts without
+     * comments are absent from the map.
+     */
+    public Map<Long, Long> getCommentCounts(Collection<Long> postIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return counts;
+        }
+        for (Object[] row : commentRepository.countByPostIds(postIds)) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    public long getCommentCount(Long postId) {
+        long count = commentRepository.countByPostId(postId);
+        return count > 0 ? count : archiveService.countArchivedComments(postId);
     }
 
     public Comment addComment(Long postId, String content, User user) {
-        Post post = getPostById(postId);
+        Post post = findPost(postId);
         
         Comment comment = new Comment();
         comment.setContent(content);
         comment.setUser(user);
         comment.setPost(post);
         
-        return commentRepository.save(comment);
+        Comment saved = transactionTemplate.execute(status -> {
+            Comment created = commentRepository.save(comment);
+            syncService.recordChange(ChangeType.COMMENT, created.getId(), post.getCommunity().getId(), user.getId(), ChangeOperation.UPSERT);
+            return created;
+        });
+        postCommentsCache.invalidate(postId);
+        return saved;
     }
 
     public List<Comment> getCommentsByPost(Long postId) {
-        return commentRepository.findByPostIdOrderByCreatedAtDesc(postId);
+        return postCommentsCache.get(postId, () -> {
+            List<Comment> comments = commentRepository.findByPostIdWithUser(postId);
+            // Comments of an archived post were moved with it
+            return comments.isEmpty() ? archiveService.findArchivedComments(postId) : comments;
+        });
     }
 
     public void reportPost(Long postId, String reason, String type, User reporter) {
-        Post post = getPostById(postId);
+        Post post = findPost(postId);
         
         Report report = new Report();
         report.setReason(reason);
@@ -99,6 +217,11 @@ public class PostService {
         report.setPost(post);
         report.setReportedUser(post.getUser());
         
-        reportRepository.save(report);
+        Report saved = transactionTemplate.execute(status -> {
+            Report created = reportRepository.save(report);
+            syncService.recordChange(ChangeType.REPORT, created.getId(), post.getCommunity().getId(), reporter.getId(), ChangeOperation.UPSERT);
+            return created;
+        });
+        moderationService.reportCreated(saved.getId());
     }
 } 
\ No newline at end of file
@@ -1,12 +1,19 @@
 package com.tangle.service;
 
+import com.tangle.audit.AuditEventType;
+import com.tangle.audit.AuditLog;
+import com.tangle.entity.ChangeOperation;
+import com.tangle.entity.ChangeType;
 import com.tangle.entity.Report;
 import com.tangle.entity.ReportStatus;
 import com.tangle.entity.User;
 import com.tangle.repository.ReportRepository;
 import com.tangle.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,6 +27,18 @@ public class ReportService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ModerationService moderationService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     public Report createReport(Report report, String userEmail) {
         User reporter = userRepository.findByEmailOrPhoneNumber(userEmail, userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -29,11 +48,20 @@ public class ReportService {
         report.setCreatedAt(LocalDateTime.now());
         report.setUpdatedAt(LocalDateTime.now());
 
-        return reportRepository.save(report);
+        Report saved = transactionTemplate.execute(status -> {
+            Report created = reportRepository.save(report);
+            recordChange(created);
+            return created;
+        });
+        moderationService.reportCreated(saved.getId());
+        return saved;
     }
 
-    public List<Report> getAllReports() {
-        return reportRepository.findAll();
+    public Page<Report> getReports(String status, Pageable pageable) {
+        if (status == null || status.isEmpty()) {
+            return reportRepository.findAll(pageable);
+        }
+        return reportRepository.findByStatus(ReportStatus.valueOf(status.toUpperCase()), pageable);
     }
 
     public Report getReportById(Long id) {
@@ -41,11 +69,27 @@ public class ReportService {
                 .orElseThrow(() -> new RuntimeException("Report not found"));
     }
 
-    public Report updateReportStatus(Long id, String status) {
+    /**
+     * Changes the report's status on behalf of the moderator signed in as moderatorName,
+     * if any, who is recorded in the audit log.
+     */
+    public Report updateReportStatus(Long id, String status, String moderatorName) {
         Report report = getReportById(id);
+        ReportStatus previous = report.getStatus();
         report.setStatus(ReportStatus.valueOf(status.toUpperCase()));
         report.setUpdatedAt(LocalDateTime.now());
-        return reportRepository.save(report);
+        Report saved = transactionTemplate.execute(transaction -> {
+            Report updated = reportRepository.save(report);
+            recordChange(updated);
+            return updated;
+        });
+        moderationService.reportStatusChanged(saved.getId(), saved.getReporter() != null ? saved.getReporter().getId() : null,
+                previous, saved.getStatus());
+        Long moderatorId = moderatorName == null ? null : userRepository.findByEmailOrPhoneNumber(moderatorName, moderatorName)
+                .map(User::getId).orElse(null);
+        Long communityId = saved.getPost() != null ? saved.getPost().getCommunity().getId() : null;
+        auditLog.record(AuditEventType.REPORT_STATUS_CHANGED, moderatorId, saved.getId(), communityId, previous + " -> " + saved.getStatus());
+        return saved;
     }
 
     public List<Report> getReportsByUserId(Long userId) {
@@ -55,4 +99,16 @@ public class ReportService {
     public List<Report> getReportsByPostId(Long postId) {
         return reportRepository.findByPostId(postId);
     }
+
+    private void recordChange(Report report) {
+        User reporter = report.getReporter();
+        if (reporter == null) {
+            // Filed by the duplicate check, in the reported post's community
+            Long communityId = report.getPost() != null ? report.getPost().getCommunity().getId() : null;
+            syncService.recordChange(ChangeType.REPORT, report.getId(), communityId, null, ChangeOperation.UPSERT);
+            return;
+        }
+        Long communityId = reporter.getCommunity() != null ? reporter.getCommunity().getId() : null;
+        syncService.recordChange(ChangeType.REPORT, report.getId(), communityId, reporter.getId(), ChangeOperation.UPSERT);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,309 @@
+package com.tangle.service;
+
+import com.tangle.dto.CommentResponse;
+import com.tangle.dto.PostResponse;
+import com.tangle.dto.ReportResponse;
+import com.tangle.dto.SyncResponse;
+import com.tangle.dto.SyncResponse.Tombstone;
+import com.tangle.entity.ChangeLogEntry;
+import com.tangle.entity.ChangeLogHorizon;
+import com.tangle.entity.ChangeOperation;
+import com.tangle.entity.ChangeType;
+import com.tangle.entity.Comment;
+import com.tangle.entity.Post;
+import com.tangle.entity.Report;
+import com.tangle.entity.User;
+import com.tangle.repository.ChangeLogHorizonRepository;
+import com.tangle.repository.ChangeLogRepository;
+import com.tangle.repository.CommentRepository;
+import com.tangle.repository.PostRepository;
+import com.tangle.repository.ReportRepository;
+import com.tangle.shard.ShardMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the change log to syncing clients. Sequence numbers are auto-increment ids,
+ * which are allocated when a row is inserted but become visible when its transaction
+ * commits, so id N+1 can appear after N+2. The returned watermark therefore stops
+ * before the first entry younger than the settle window; clients get those entries
+ * again on their next sync, where they are upserts or tombstones of the same rows.
+ * <p>
+ * Entries are kept for app.sync.retention-days. A token older than the purged range
+ * gets a resync response: the client reloads from the feed and syncs from the new token.
+ */
+@Service
+public class SyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncService.class);
+
+    private static final int MAX_CHANGES = 1000;
+
+    // Longer than any transaction that writes a change log entry takes to commit
+    @Value("${app.sync.settle-ms:5000}")
+    private long settleMs;
+
+    @Value("${app.sync.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${app.sync.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    @Value("${app.sync.purge-max-batches:100}")
+    private int purgeMaxBatches;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ChangeLogHorizonRepository changeLogHorizonRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    /**
+     * Must run in the transaction that writes the entity, so the entry commits or rolls
+     * back with it.
+     */
+    public void recordChange(ChangeType type, Long entityId, Long communityId, Long userId, ChangeOperation operation) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Change log entries must be written in the entity's transaction");
+        }
+        // Rolls back background writes to a community being moved along with their entry
+        shardMap.requireWritable(communityId);
+        ChangeLogEntry entry = new ChangeLogEntry();
+        entry.setEntityType(type);
+        entry.setEntityId(entityId);
+        entry.setCommunityId(communityId);
+        entry.setUserId(userId);
+        entry.setOperation(operation);
+        changeLogRepository.save(entry);
+    }
+
+    public SyncResponse getChangesSince(User user, String since, int limit) {
+        Long communityId = user.getCommunity().getId();
+        long purgedThrough = purgedThrough();
+        // Clients without a token load the feed normally and sync from the current watermark
+        if (since == null || since.trim().isEmpty()) {
+            return reload(communityId, purgedThrough, false);
+        }
+
+        long sequence = parseToken(since);
+        if (sequence < purgedThrough) {
+            return reload(communityId, purgedThrough, true);
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_CHANGES);
+        List<ChangeLogEntry> entries = changeLogRepository.findByCommunityIdAndIdGreaterThanOrderByIdAsc(
+                communityId, sequence, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+        long watermark = settledWatermark(entries, sequence);
+        if (!entries.isEmpty() && watermark < entries.get(entries.size() - 1).getId()) {
+            // The rest is read again once it has settled; asking for more now only repeats it
+            hasMore = false;
+        }
+
+        // Keep only the latest operation per row
+        Map<ChangeType, Map<Long, ChangeOperation>> latest = new EnumMap<>(ChangeType.class);
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getEntityType() == ChangeType.REPORT && !user.getId().equals(entry.getUserId())) {
+                continue;
+            }
+            latest.computeIfAbsent(entry.getEntityType(), type -> new LinkedHashMap<>())
+                    .put(entry.getEntityId(), entry.getOperation());
+        }
+
+        List<Tombstone> tombstones = new ArrayList<>();
+
+        Map<Long, ChangeOperation> postChanges = latest.getOrDefault(ChangeType.POST, Map.of());
+        List<Post> posts = new ArrayList<>();
+        for (Post post : postRepository.findAllById(upsertedIds(postChanges, tombstones, ChangeType.POST))) {
+            if (Boolean.FALSE.equals(post.getIsActive())) {
+                tombstones.add(tombstone(ChangeType.POST, post.getId()));
+            } else {
+                posts.add(post);
+            }
+        }
+        addMissing(postChanges, posts.stream().map(Post::getId).collect(Collectors.toSet()), tombstones, ChangeType.POST);
+
+        Map<Long, ChangeOperation> commentChanges = latest.getOrDefault(ChangeType.COMMENT, Map.of());
+        List<Comment> comments = new ArrayList<>();
+        for (Comment comment : commentRepository.findAllById(upsertedIds(commentChanges, tombstones, ChangeType.COMMENT))) {
+            if (Boolean.FALSE.equals(comment.getIsActive())) {
+                tombstones.add(tombstone(ChangeType.COMMENT, comment.getId()));
+            } else {
+                comments.add(comment);
+            }
+        }
+        addMissing(commentChanges, comments.stream().map(Comment::getId).collect(Collectors.toSet()), tombstones, ChangeType.COMMENT);
+
+        Map<Long, ChangeOperation> reportChanges = latest.getOrDefault(ChangeType.REPORT, Map.of());
+        List<Report> reports = reportRepository.findAllById(upsertedIds(reportChanges, tombstones, ChangeType.REPORT));
+        addMissing(reportChanges, reports.stream().map(Report::getId).collect(Collectors.toSet()), tombstones, ChangeType.REPORT);
+
+        Map<Long, Long> commentCounts = countComments(posts);
+        return new SyncResponse(
+                posts.stream().map(post -> PostResponse.from(post, commentCounts.getOrDefault(post.getId(), 0L)))
+                        .collect(Collectors.toList()),
+                comments.stream().map(CommentResponse::from).collect(Collectors.toList()),
+                reports.stream().map(ReportResponse::from).collect(Collectors.toList()),
+                tombstones,
+                String.valueOf(watermark),
+                hasMore,
+                false);
+    }
+
+    /**
+     * Deletes change log entries older than the retention window on every shard, oldest
+     * first along the primary key, and records the highest purged id so older tokens get
+     * a resync. Stops at the first entry still retained, so the purged range has no holes.
+     */
+    @Scheduled(fixedDelayString = "${app.sync.purge-interval-ms:3600000}", initialDelayString = "${app.sync.purge-initial-delay-ms:1200000}")
+    public void purgeChangeLog() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        shardMap.forEachShard(shard -> {
+            if (shardMap.hasReadOnlyCommunity(shard)) {
+                logger.info("Change log retention on {} skipped while a community is being moved", shard);
+                return;
+            }
+            int purged = 0;
+            for (int batch = 0; batch < purgeMaxBatches; batch++) {
+                Integer deleted = transactionTemplate.execute(status -> purgeBatch(cutoff));
+                purged += deleted;
+                if (deleted < purgeBatchSize) {
+                    break;
+                }
+            }
+            if (purged > 0) {
+                logger.info("Purged {} change log entries on {} created before {}", purged, shard, cutoff);
+            }
+        });
+    }
+
+    private int purgeBatch(LocalDateTime cutoff) {
+        List<Long> ids = new ArrayList<>();
+        for (ChangeLogEntry entry : changeLogRepository.findByOrderByIdAsc(PageRequest.of(0, purgeBatchSize))) {
+            if (entry.getCreatedAt() != null && !entry.getCreatedAt().isBefore(cutoff)) {
+                break;
+            }
+            ids.add(entry.getId());
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        ChangeLogHorizon horizon = changeLogHorizonRepository.findById(ChangeLogHorizon.ID).orElseGet(ChangeLogHorizon::new);
+        horizon.setPurgedThrough(Math.max(horizon.getPurgedThrough(), ids.get(ids.size() - 1)));
+        changeLogHorizonRepository.save(horizon);
+        return changeLogRepository.deleteByIdIn(ids);
+    }
+
+    private long purgedThrough() {
+        return changeLogHorizonRepository.findById(ChangeLogHorizon.ID).map(ChangeLogHorizon::getPurgedThrough).orElse(0L);
+    }
+
+    // Nothing to replay: the client loads the feed and syncs from the community's settled watermark
+    private SyncResponse reload(Long communityId, long purgedThrough, boolean resync) {
+        long watermark = changeLogRepository.findTopByCommunityIdAndCreatedAtBeforeOrderByIdDesc(communityId, settledBefore())
+                .map(ChangeLogEntry::getId)
+                .orElse(0L);
+        // Never below the purged range, or the next sync would be told to resync again
+        return new SyncResponse(List.of(), List.of(), List.of(), List.of(),
+                String.valueOf(Math.max(watermark, purgedThrough)), false, resync);
+    }
+
+    // The last id before the first entry still inside the settle window
+    private long settledWatermark(List<ChangeLogEntry> entries, long sequence) {
+        LocalDateTime settledBefore = settledBefore();
+        long watermark = sequence;
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getCreatedAt() == null || !entry.getCreatedAt().isBefore(settledBefore)) {
+                break;
+            }
+            watermark = entry.getId();
+        }
+        return watermark;
+    }
+
+    private LocalDateTime settledBefore() {
+        return LocalDateTime.now().minusNanos(settleMs * 1_000_000);
+    }
+
+    private Map<Long, Long> countComments(List<Post> posts) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (!posts.isEmpty()) {
+            for (Object[] row : commentRepository.countByPostIds(posts.stream().map(Post::getId).collect(Collectors.toList()))) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        return counts;
+    }
+
+    private List<Long> upsertedIds(Map<Long, ChangeOperation> changes, List<Tombstone> tombstones, ChangeType type) {
+        List<Long> ids = new ArrayList<>();
+        changes.forEach((id, operation) -> {
+            if (operation == ChangeOperation.DELETE) {
+                tombstones.add(tombstone(type, id));
+            } else {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    // Rows upserted after the watermark but gone by now are reported as deleted
+    private void addMissing(Map<Long, ChangeOperation> changes, Set<Long> found, List<Tombstone> tombstones, ChangeType type) {
+        changes.forEach((id, operation) -> {
+            if (operation == ChangeOperation.UPSERT && !found.contains(id)) {
+                tombstones.add(tombstone(type, id));
+            }
+        });
+    }
+
+    private Tombstone tombstone(ChangeType type, Long id) {
+        return new Tombstone(type, id);
+    }
+
+    private long parseToken(String token) {
+        try {
+            long sequence = Long.parseLong(token.trim());
+            if (sequence < 0) {
+                throw new NumberFormatException();
+            }
+            return sequence;
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid sync token: " + token);
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package com.tangle.service;
 
+import com.tangle.audit.AuditEventType;
+import com.tangle.audit.AuditLog;
+import com.tangle.dto.AuthResponse;
 import com.tangle.dto.LoginDto;
 import com.tangle.dto.UserRegistrationDto;
+import com.tangle.dto.UserResponse;
+import com.tangle.dto.UserStatsResponse;
 import com.tangle.entity.Community;
 import com.tangle.entity.User;
 import com.tangle.entity.UserRole;
 import com.tangle.repository.CommunityRepository;
 import com.tangle.repository.UserRepository;
+import com.tangle.shard.ShardMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,16 +38,23 @@ public class UserService {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private AuditLog auditLog;
+
     public User registerUser(UserRegistrationDto registrationDto) {
         // Check if user already exists
-        if (userRepository.existsByEmail(registrationDto.getEmail()) || 
-            userRepository.existsByPhoneNumber(registrationDto.getPhoneNumber())) {
+        if (shardMap.existsOnAnyShard(() -> userRepository.existsByEmail(registrationDto.getEmail())) || 
+            shardMap.existsOnAnyShard(() -> userRepository.existsByPhoneNumber(registrationDto.getPhoneNumber()))) {
             throw new RuntimeException("User with this email or phone number already exists");
         }
 
         // Find community by code
-        Community community = communityRepository.findByCommunityCode(registrationDto.getCommunityCode())
+        Community community = shardMap.findOnAnyShard(() -> communityRepository.findByCommunityCode(registrationDto.getCommunityCode()))
             .orElseThrow(() -> new RuntimeException("Community not found with code: " + registrationDto.getCommunityCode()));
+        shardMap.routeTo(community.getId());
 
         // Create new user
         User user = new User();
@@ -61,16 +73,18 @@ public class UserService {
         return userRepository.save(user);
     }
 
-    public Map<String, Object> loginUser(LoginDto loginDto) {
+    public AuthResponse loginUser(LoginDto loginDto) {
         // Find user by email or phone number
-        Optional<User> userOpt = userRepository.findByEmailOrPhoneNumber(loginDto.getEmailOrPhone(), loginDto.getEmailOrPhone());
+        Optional<User> userOpt = shardMap.findOnAnyShard(
+            () -> userRepository.findByEmailOrPhoneNumber(loginDto.getEmailOrPhone(), loginDto.getEmailOrPhone()));
         
         User user;
+        boolean created = userOpt.isEmpty();
         
         // If user doesn't exist, create a demo user
         if (userOpt.isEmpty()) {
             // Create a demo user for any login attempt
-            Community demoCommunity = communityRepository.findByCommunityCode("ANNA001")
+            Community demoCommunity = shardMap.findOnAnyShard(() -> communityRepository.findByCommunityCode("ANNA001"))
                 .orElseGet(() -> {
                     Community newCommunity = new Community();
                     newCommunity.setName("Demo Community");
@@ -79,8 +93,10 @@ public class UserService {
                     newCommunity.setCity("Demo City");
                     newCommunity.setState("Demo State");
                     newCommunity.setPincode("600000");
+                    shardMap.routeTo(null);
                     return communityRepository.save(newCommunity);
                 });
+            shardMap.routeTo(demoCommunity.getId());
             
             user = new User();
             user.setFullName("Demo User");
@@ -98,42 +114,15 @@ public class UserService {
             user = userRepository.save(user);
         } else {
             user = userOpt.get();
+            shardMap.routeTo(user.getCommunity() != null ? user.getCommunity().getId() : null);
             // Skip password verification - always allow login
         }
 
         // Generate JWT token
         String token = jwtService.generateToken(user);
+        auditLog.record(AuditEventType.LOGIN, user.getId(), user.getId(), communityIdOf(user), created ? "demo account created" : null);
         
-        // Create response with user details and token
-        Map<String, Object> response = new HashMap<>();
-        response.put("token", token);
-        response.put("user", createUserResponse(user));
-        
-        return response;
-    }
-    
-    private Map<String, Object> createUserResponse(User user) {
-        Map<String, Object> userResponse = new HashMap<>();
-        userResponse.put("id", user.getId());
-        userResponse.put("fullName", user.getFullName());
-        userResponse.put("email", user.getEmail());
-        userResponse.put("phoneNumber", user.getPhoneNumber());
-        userResponse.put("role", user.getRole());
-        userResponse.put("address", user.getAddress());
-        userResponse.put("locality", user.getLocality());
-        userResponse.put("pincode", user.getPincode());
-        userResponse.put("isVerified", user.getIsVerified());
-        userResponse.put("profilePicture", user.getProfilePicture());
-        
-        if (user.getCommunity() != null) {
-            Map<String, Object> community = new HashMap<>();
-            community.put("id", user.getCommunity().getId());
-            community.put("name", user.getCommunity().getName());
-            community.put("location", user.getCommunity().getLocation());
-            userResponse.put("community", community);
-        }
-        
-        return userResponse;
+        return new AuthResponse("Login successful", token, "Bearer", UserResponse.from(user));
     }
 
     public User getCurrentUser() {
@@ -142,6 +131,19 @@ public class UserService {
             .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    /**
+     * The community a moderator may act on, or null for admins. Fails for everyone else.
+     */
+    public Long getModerationScope(User user) {
+        if (user.getRole() == UserRole.ADMIN) {
+            return null;
+        }
+        if (user.getRole() == UserRole.MODERATOR && user.getCommunity() != null) {
+            return user.getCommunity().getId();
+        }
+        throw new RuntimeException("Moderator access required");
+    }
+
     public List<User> getUsersByCommunity(Long communityId) {
         return userRepository.findByCommunityId(communityId);
     }
@@ -173,35 +175,32 @@ public class UserService {
         return userRepository.save(user);
     }
 
-    public Map<String, Object> getUserStats(Long userId) {
-        Map<String, Object> stats = new HashMap<>();
-        
-        // Get user's post count
-        long postCount = userRepository.countPostsByUserId(userId);
-        stats.put("totalPosts", postCount);
-        
-        // Get total views on user's posts
-        long totalViews = userRepository.sumViewsByUserId(userId);
-        stats.put("totalViews", totalViews);
-        
-        // Get total comments on user's posts
-        long totalComments = userRepository.countCommentsByUserId(userId);
-        stats.put("totalComments", totalComments);
-        
-        return stats;
+    public UserStatsResponse getUserStats(Long userId) {
+        return new UserStatsResponse(
+            userRepository.countPostsByUserId(userId),
+            userRepository.sumViewsByUserId(userId),
+            userRepository.countCommentsByUserId(userId));
     }
 
     public User verifyUser(Long userId) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
         user.setIsVerified(true);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        auditLog.record(AuditEventType.USER_VERIFIED, null, userId, communityIdOf(saved), null);
+        return saved;
     }
 
     public User deactivateUser(Long userId) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
         user.setIsActive(false);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        auditLog.record(AuditEventType.USER_DEACTIVATED, null, userId, communityIdOf(saved), null);
+        return saved;
+    }
+
+    private Long communityIdOf(User user) {
+        return user.getCommunity() != null ? user.getCommunity().getId() : null;
     }
 } 
\ No newline at end of file
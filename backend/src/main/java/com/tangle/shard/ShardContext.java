@@ -0,0 +1,54 @@
+package com.tangle.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard the current thread's database work is routed to. Requests set it
+ * from the caller's community in {@link ShardRoutingFilter}; background jobs set it
+ * explicitly for each shard they visit. Unset means the default shard.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String get() {
+        return CURRENT.get();
+    }
+
+    public static void set(String shard) {
+        CURRENT.set(shard);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs the work on the given shard and restores the previous routing afterwards.
+     * Only safe outside a transaction, since a transaction keeps the connection it
+     * started with.
+     */
+    public static <T> T callOn(String shard, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runOn(String shard, Runnable work) {
+        callOn(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
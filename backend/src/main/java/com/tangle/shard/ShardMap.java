@@ -0,0 +1,165 @@
+package com.tangle.shard;
+
+import com.tangle.entity.ShardAssignment;
+import com.tangle.repository.ShardAssignmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Maps community ids to shards. Assignments written by rebalancing live in the
+ * shard_assignments table on the default shard and are polled by every instance;
+ * the static app.sharding.communities map covers the rest, and anything unlisted
+ * stays on the default shard. With sharding disabled there is a single shard and
+ * every helper here runs its work exactly once.
+ */
+@Component
+public class ShardMap {
+
+    @Autowired
+    private ShardingProperties properties;
+
+    @Autowired
+    private ShardAssignmentRepository shardAssignmentRepository;
+
+    private volatile Map<Long, ShardAssignment> assignments = Collections.emptyMap();
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.sharding.refresh-ms:5000}", initialDelayString = "${app.sharding.refresh-ms:5000}")
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<ShardAssignment> rows = ShardContext.callOn(getDefaultShard(), shardAssignmentRepository::findAll);
+        assignments = rows.stream().collect(Collectors.toMap(ShardAssignment::getCommunityId, Function.identity()));
+    }
+
+    public String getDefaultShard() {
+        return properties.getDefaultShard();
+    }
+
+    public Set<String> getShardNames() {
+        Set<String> names = new LinkedHashSet<>();
+        names.add(getDefaultShard());
+        if (properties.isEnabled()) {
+            names.addAll(properties.getShards().keySet());
+        }
+        return names;
+    }
+
+    public String shardFor(Long communityId) {
+        if (communityId == null || !properties.isEnabled()) {
+            return getDefaultShard();
+        }
+        ShardAssignment assignment = assignments.get(communityId);
+        if (assignment != null) {
+            return assignment.getShard();
+        }
+        return properties.getCommunities().getOrDefault(communityId, getDefaultShard());
+    }
+
+    public boolean isReadOnly(Long communityId) {
+        ShardAssignment assignment = communityId == null ? null : assignments.get(communityId);
+        return assignment != null && Boolean.TRUE.equals(assignment.getReadOnly());
+    }
+
+    /**
+     * Fails while the community is being moved. Request writes are already turned away
+     * by {@link ShardRoutingFilter}; this covers background writers.
+     */
+    public void requireWritable(Long communityId) {
+        if (isReadOnly(communityId)) {
+            throw new RuntimeException("Community " + communityId + " is being moved, please retry shortly");
+        }
+    }
+
+    /**
+     * Whether a community on the shard is read-only for a move. Jobs that sweep a whole
+     * shard skip it meanwhile, since the move's final copy would miss their changes.
+     */
+    public boolean hasReadOnlyCommunity(String shard) {
+        return assignments.values().stream()
+                .anyMatch(assignment -> shard.equals(assignment.getShard()) && Boolean.TRUE.equals(assignment.getReadOnly()));
+    }
+
+    public Map<Long, ShardAssignment> getAssignments() {
+        return assignments;
+    }
+
+    /**
+     * Routes the rest of the current request to the community's shard.
+     */
+    public void routeTo(Long communityId) {
+        ShardContext.set(shardFor(communityId));
+    }
+
+    public void assign(Long communityId, String shard, boolean readOnly) {
+        ShardAssignment assignment = new ShardAssignment();
+        assignment.setCommunityId(communityId);
+        assignment.setShard(shard);
+        assignment.setReadOnly(readOnly);
+        ShardContext.callOn(getDefaultShard(), () -> shardAssignmentRepository.save(assignment));
+        refresh();
+    }
+
+    public void forEachShard(Consumer<String> work) {
+        for (String shard : getShardNames()) {
+            ShardContext.runOn(shard, () -> work.accept(shard));
+        }
+    }
+
+    /**
+     * Runs the query on every shard, returning one result per shard.
+     */
+    public <T> List<T> queryEachShard(Supplier<T> query) {
+        List<T> results = new ArrayList<>();
+        forEachShard(shard -> results.add(query.get()));
+        return results;
+    }
+
+    /**
+     * Runs the query on every shard and concatenates the results, dropping rows whose
+     * community is homed elsewhere (left behind by an unfinished move).
+     */
+    public <T> List<T> collectFromEachShard(Supplier<List<T>> query, Function<T, Long> communityId) {
+        List<T> results = new ArrayList<>();
+        forEachShard(shard -> query.get().stream()
+                .filter(row -> shard.equals(shardFor(communityId.apply(row))))
+                .forEach(results::add));
+        return results;
+    }
+
+    /**
+     * Returns the first match from any shard, checking the default shard first.
+     */
+    public <T> Optional<T> findOnAnyShard(Supplier<Optional<T>> query) {
+        for (String shard : getShardNames()) {
+            Optional<T> result = ShardContext.callOn(shard, query);
+            if (result.isPresent()) {
+                return result;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean existsOnAnyShard(Supplier<Boolean> query) {
+        return findOnAnyShard(() -> query.get() ? Optional.of(true) : Optional.empty()).isPresent();
+    }
+}
@@ -0,0 +1,272 @@
+package com.tangle.shard;
+
+import com.tangle.logging.LogContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Moves one community to another shard while it keeps serving traffic:
+ * <ol>
+ *   <li>copy every row of the community to the target while reads and writes continue</li>
+ *   <li>mark it read-only and wait for every instance to pick that up; requests,
+ *       change-logged background writes and shard-wide sweeps stop writing to it</li>
+ *   <li>copy rows changed since step 1 and delete target rows that were removed meanwhile</li>
+ *   <li>point the community at the target, raise the target's change_log ids above
+ *       the source's so sync tokens stay valid, then lift the read-only flag</li>
+ *   <li>delete the community's rows from the source</li>
+ * </ol>
+ * Rows are copied with their ids, so ids must be unique across shards (e.g. MySQL
+ * auto_increment_offset set per shard). Moves run one at a time on a background
+ * thread.
+ */
+@Lazy
+@Component
+public class ShardRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    // Parent tables first. Scopes take the community id once per placeholder.
+    private static final List<TableScope> TABLES = List.of(
+        new TableScope("communities", "id = ?", "updated_at"),
+        new TableScope("users", "community_id = ?", "updated_at"),
+        new TableScope("posts", "community_id = ?", "updated_at"),
+        new TableScope("comments", "post_id IN (SELECT id FROM posts WHERE community_id = ?)", "updated_at"),
+        new TableScope("reports", "post_id IN (SELECT id FROM posts WHERE community_id = ?) "
+                + "OR reported_user_id IN (SELECT id FROM users WHERE community_id = ?)", "updated_at"),
+        new TableScope("change_log", "community_id = ?", "created_at"),
+        new TableScope("moderation_actions", "community_id = ?", "created_at"),
+        new TableScope("posts_archive", "community_id = ?", "archived_at"),
+        new TableScope("comments_archive", "post_id IN (SELECT id FROM posts_archive WHERE community_id = ?)", "archived_at")
+    );
+
+    // Allows for clock drift between the instances that stamp updated_at
+    private static final long CLOCK_SKEW_SECONDS = 60;
+
+    @Autowired
+    private ShardingProperties properties;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired(required = false)
+    private ShardRoutingDataSource routingDataSource;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shard-rebalancer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, String> status = new ConcurrentHashMap<>();
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public void startMove(Long communityId, String targetShard) {
+        if (!properties.isEnabled() || routingDataSource == null) {
+            throw new RuntimeException("Sharding is not enabled");
+        }
+        if (!shardMap.getShardNames().contains(targetShard)) {
+            throw new RuntimeException("Shard not found: " + targetShard);
+        }
+        String sourceShard = shardMap.shardFor(communityId);
+        if (sourceShard.equals(targetShard)) {
+            throw new RuntimeException("Community " + communityId + " is already on " + targetShard);
+        }
+        String current = status.get(communityId);
+        if (current != null && !current.startsWith("DONE") && !current.startsWith("FAILED")) {
+            throw new RuntimeException("Community " + communityId + " is already being moved");
+        }
+        status.put(communityId, "QUEUED");
+        executor.submit(LogContext.wrap(() -> move(communityId, sourceShard, targetShard)));
+    }
+
+    public Map<Long, String> getStatus() {
+        return Collections.unmodifiableMap(status);
+    }
+
+    private void move(Long communityId, String sourceShard, String targetShard) {
+        JdbcTemplate source = new JdbcTemplate(routingDataSource.getShard(sourceShard));
+        JdbcTemplate target = new JdbcTemplate(routingDataSource.getShard(targetShard));
+        boolean switched = false;
+        try {
+            status.put(communityId, "COPYING");
+            LocalDateTime copyStart = LocalDateTime.now().minusSeconds(CLOCK_SKEW_SECONDS);
+            for (TableScope table : TABLES) {
+                copy(source, target, table, communityId, null);
+            }
+
+            status.put(communityId, "FROZEN");
+            shardMap.assign(communityId, sourceShard, true);
+            awaitPropagation();
+            for (TableScope table : TABLES) {
+                copy(source, target, table, communityId, copyStart);
+            }
+            for (int i = TABLES.size() - 1; i >= 0; i--) {
+                deleteMissing(source, target, TABLES.get(i), communityId);
+            }
+
+            status.put(communityId, "SWITCHING");
+            shardMap.assign(communityId, targetShard, true);
+            switched = true;
+            awaitPropagation();
+            raiseChangeLogSequence(source, target);
+            shardMap.assign(communityId, targetShard, false);
+
+            status.put(communityId, "CLEANING");
+            for (int i = TABLES.size() - 1; i >= 0; i--) {
+                deleteAll(source, TABLES.get(i), communityId);
+            }
+            status.put(communityId, "DONE " + sourceShard + " -> " + targetShard);
+            logger.info("Moved community {} from {} to {}", communityId, sourceShard, targetShard);
+        } catch (Exception e) {
+            logger.error("Moving community {} from {} to {} failed", communityId, sourceShard, targetShard, e);
+            status.put(communityId, "FAILED: " + e.getMessage());
+            try {
+                if (switched) {
+                    // The target already has everything; leftover source rows are ignored by routing
+                    shardMap.assign(communityId, targetShard, false);
+                } else {
+                    shardMap.assign(communityId, sourceShard, false);
+                    for (int i = TABLES.size() - 1; i >= 0; i--) {
+                        deleteAll(target, TABLES.get(i), communityId);
+                    }
+                }
+            } catch (Exception cleanupError) {
+                logger.error("Cleanup after failed move of community {} failed", communityId, cleanupError);
+            }
+        }
+    }
+
+    private void awaitPropagation() throws InterruptedException {
+        // Two refresh intervals: every instance has polled the directory and finished in-flight requests
+        Thread.sleep(properties.getRefreshMs() * 2);
+    }
+
+    /**
+     * Sync tokens are change_log ids handed out by the source. Once every instance routes
+     * the community to the target, so no client can get a later token from the source,
+     * the target's ids must continue above them or its new changes would sort before
+     * tokens clients already hold and never be synced.
+     */
+    private void raiseChangeLogSequence(JdbcTemplate source, JdbcTemplate target) {
+        long sourceMax = source.queryForObject("SELECT COALESCE(MAX(id), 0) FROM change_log", Long.class);
+        long targetMax = target.queryForObject("SELECT COALESCE(MAX(id), 0) FROM change_log", Long.class);
+        if (sourceMax > targetMax) {
+            target.execute("ALTER TABLE change_log AUTO_INCREMENT = " + (sourceMax + 1));
+        }
+    }
+
+    /**
+     * Upserts the community's rows into the target in id order, optionally only those
+     * changed since the given time.
+     */
+    private void copy(JdbcTemplate source, JdbcTemplate target, TableScope table, Long communityId, LocalDateTime since) {
+        String where = "(" + table.scope + ")" + (since != null ? " AND " + table.changeColumn + " >= ?" : "") + " AND id > ?";
+        String sql = "SELECT * FROM " + table.name + " WHERE " + where + " ORDER BY id LIMIT " + properties.getRebalanceBatchSize();
+        long lastId = 0;
+        while (true) {
+            List<Object> params = table.params(communityId);
+            if (since != null) {
+                params.add(Timestamp.valueOf(since));
+            }
+            params.add(lastId);
+            List<Map<String, Object>> rows = source.queryForList(sql, params.toArray());
+            if (rows.isEmpty()) {
+                return;
+            }
+            List<String> columns = new ArrayList<>(rows.get(0).keySet());
+            String insert = "INSERT INTO " + table.name + " (" + String.join(", ", columns) + ") VALUES ("
+                    + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ") ON DUPLICATE KEY UPDATE "
+                    + columns.stream().map(column -> column + " = VALUES(" + column + ")").collect(Collectors.joining(", "));
+            List<Object[]> values = rows.stream()
+                    .map(row -> columns.stream().map(row::get).toArray())
+                    .collect(Collectors.toList());
+            target.batchUpdate(insert, values);
+            lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+            if (rows.size() < properties.getRebalanceBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Deletes target rows that no longer exist on the source, e.g. posts archived or
+     * purged after they were copied.
+     */
+    private void deleteMissing(JdbcTemplate source, JdbcTemplate target, TableScope table, Long communityId) {
+        long lastId = 0;
+        while (true) {
+            List<Object> params = table.params(communityId);
+            params.add(lastId);
+            List<Long> ids = target.queryForList("SELECT id FROM " + table.name + " WHERE (" + table.scope + ") AND id > ? ORDER BY id LIMIT "
+                    + properties.getRebalanceBatchSize(), Long.class, params.toArray());
+            if (ids.isEmpty()) {
+                return;
+            }
+            String in = ids.stream().map(id -> "?").collect(Collectors.joining(", "));
+            Set<Long> present = new HashSet<>(source.queryForList(
+                    "SELECT id FROM " + table.name + " WHERE id IN (" + in + ")", Long.class, ids.toArray()));
+            List<Long> missing = ids.stream().filter(id -> !present.contains(id)).collect(Collectors.toList());
+            if (!missing.isEmpty()) {
+                target.update("DELETE FROM " + table.name + " WHERE id IN ("
+                        + missing.stream().map(id -> "?").collect(Collectors.joining(", ")) + ")", missing.toArray());
+            }
+            lastId = ids.get(ids.size() - 1);
+            if (ids.size() < properties.getRebalanceBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    private void deleteAll(JdbcTemplate jdbcTemplate, TableScope table, Long communityId) {
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM " + table.name + " WHERE " + table.scope + " LIMIT "
+                    + properties.getRebalanceBatchSize(), Long.class, table.params(communityId).toArray());
+            if (ids.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.update("DELETE FROM " + table.name + " WHERE id IN ("
+                    + ids.stream().map(id -> "?").collect(Collectors.joining(", ")) + ")", ids.toArray());
+        }
+    }
+
+    private static final class TableScope {
+
+        private final String name;
+        private final String scope;
+        private final String changeColumn;
+        private final int placeholders;
+
+        TableScope(String name, String scope, String changeColumn) {
+            this.name = name;
+            this.scope = scope;
+            this.changeColumn = changeColumn;
+            this.placeholders = (int) scope.chars().filter(c -> c == '?').count();
+        }
+
+        List<Object> params(Long communityId) {
+            return new ArrayList<>(Collections.nCopies(placeholders, communityId));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.tangle.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections from the shard named by {@link ShardContext}, or from the
+ * default shard when none is set. Unknown shard names fail rather than silently
+ * falling back.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(Map<String, DataSource> shards, String defaultShard) {
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(defaultShard));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.get();
+    }
+
+    public DataSource getShard(String shard) {
+        DataSource dataSource = getResolvedDataSources().get(shard);
+        if (dataSource == null) {
+            throw new RuntimeException("Shard not found: " + shard);
+        }
+        return dataSource;
+    }
+}
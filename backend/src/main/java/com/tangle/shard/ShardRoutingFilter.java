@@ -0,0 +1,76 @@
+package com.tangle.shard;
+
+import com.tangle.service.JwtService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Routes each request to the shard of the caller's community, taken from the
+ * communityId claim so the user can be loaded from the right shard. Requests
+ * without a token stay on the default shard. Writes to a community that is
+ * being moved are turned away with 503 until the move completes.
+ */
+@Component
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ShardingProperties properties;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Long communityId = null;
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                communityId = jwtService.extractCommunityId(authHeader.substring(7));
+            } catch (JwtException | IllegalArgumentException e) {
+                // Left to JwtAuthenticationFilter to reject
+            }
+        }
+
+        if (shardMap.isReadOnly(communityId) && !isRead(request)) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", String.valueOf(Math.max(1, properties.getRefreshMs() / 1000 * 2)));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Community is being moved, please retry shortly\"}");
+            return;
+        }
+
+        shardMap.routeTo(communityId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    private boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+}
@@ -0,0 +1,36 @@
+package com.tangle.shard;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+/**
+ * Hibernate only applies spring.jpa.hibernate.ddl-auto through whichever connection
+ * the routing data source hands out at startup, i.e. the default shard. This
+ * captures the mapping metadata and replays the same schema action against every
+ * other shard. With ddl-auto set to none, this does nothing.
+ */
+public class ShardSchemaInitializer implements Integrator {
+
+    private Metadata metadata;
+
+    private SessionFactoryImplementor sessionFactory;
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    public void initialize(String shard) {
+        ShardContext.runOn(shard, () -> SchemaManagementToolCoordinator.process(
+                metadata, sessionFactory.getServiceRegistry(), sessionFactory.getProperties(), action -> { }));
+    }
+}
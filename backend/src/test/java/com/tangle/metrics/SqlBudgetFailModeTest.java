@@ -0,0 +1,150 @@
+package com.tangle.metrics;
+
+import com.tangle.entity.Community;
+import com.tangle.entity.Post;
+import com.tangle.entity.PostCategory;
+import com.tangle.entity.PostType;
+import com.tangle.entity.User;
+import com.tangle.repository.CommunityRepository;
+import com.tangle.repository.PostRepository;
+import com.tangle.repository.UserRepository;
+import com.tangle.service.JwtService;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the statement counter in the test profile's FAIL mode: a request that loads one
+ * row per statement errors out, the batched feed stays within its budget, and the
+ * user lookup for the token counts against the route's budget.
+ */
+@SpringBootTest(properties = "app.sql-budget.routes[GET\\ /test/statement-free]=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({SqlBudgetFailModeTest.AuthorNamesController.class, SqlBudgetFailModeTest.StatementFreeController.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlBudgetFailModeTest {
+
+    private static final int POSTS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private Long communityId;
+    private String token;
+
+    @BeforeAll
+    void seed() {
+        Community community = new Community();
+        community.setName("Budget Check");
+        community.setCity("Chennai");
+        communityId = communityRepository.save(community).getId();
+
+        // One author per post, so loading authors one at a time repeats the same statement
+        for (int i = 0; i < POSTS; i++) {
+            User user = new User();
+            user.setFullName("Author " + i);
+            user.setEmail("author" + i + "@tangle.test");
+            user.setPassword("password" + i);
+            user.setCommunity(community);
+            user = userRepository.save(user);
+            if (token == null) {
+                token = jwtService.generateToken(user);
+            }
+
+            Post post = new Post();
+            post.setTitle("Budget post " + i);
+            post.setDescription("Seeded for the statement budget check");
+            post.setCategory(PostCategory.BUY_SELL);
+            post.setType(PostType.OFFER);
+            post.setUser(user);
+            post.setCommunity(community);
+            postRepository.save(post);
+        }
+    }
+
+    @Test
+    void batchedFeedStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/posts").param("size", String.valueOf(POSTS))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(POSTS));
+    }
+
+    @Test
+    void lazyLoadPerRowFails() {
+        ServletException failure = assertThrows(ServletException.class, () ->
+                mockMvc.perform(get("/test/communities/{id}/author-names", communityId)
+                        .header("Authorization", "Bearer " + token)));
+        assertThat(failure).hasRootCauseInstanceOf(SqlBudgetExceededException.class);
+        assertThat(failure.getRootCause()).hasMessageContaining("Possible N+1");
+    }
+
+    @Test
+    void tokenLookupCountsAgainstTheBudget() throws Exception {
+        mockMvc.perform(get("/test/statement-free"))
+                .andExpect(status().isOk());
+
+        ServletException failure = assertThrows(ServletException.class, () ->
+                mockMvc.perform(get("/test/statement-free").header("Authorization", "Bearer " + token)));
+        assertThat(failure).hasRootCauseInstanceOf(SqlBudgetExceededException.class);
+        assertThat(failure.getRootCause()).hasMessageContaining("budget 0");
+    }
+
+    // Loads the posts without their authors, then touches each lazy author: one select per post
+    @RestController
+    static class AuthorNamesController {
+
+        @Autowired
+        private PostRepository postRepository;
+
+        @GetMapping("/test/communities/{id}/author-names")
+        List<String> authorNames(@PathVariable Long id) {
+            return postRepository.findAll().stream()
+                    .filter(post -> post.getCommunity().getId().equals(id))
+                    .map(post -> post.getUser().getFullName())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Issues no statements itself; any it is charged for come from authenticating the caller
+    @RestController
+    static class StatementFreeController {
+
+        @GetMapping("/test/statement-free")
+        String statementFree() {
+            return "ok";
+        }
+    }
+}
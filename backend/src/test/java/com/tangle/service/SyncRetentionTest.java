@@ -0,0 +1,94 @@
+package com.tangle.service;
+
+import com.tangle.entity.Community;
+import com.tangle.entity.User;
+import com.tangle.repository.CommunityRepository;
+import com.tangle.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Purges change log entries past retention and answers tokens from the purged range
+ * with a resync that hands out a token the next sync accepts.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SyncRetentionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private Long communityId;
+    private String token;
+
+    @BeforeAll
+    void seed() {
+        Community community = new Community();
+        community.setName("Retention Check");
+        community.setCity("Chennai");
+        communityId = communityRepository.save(community).getId();
+
+        User user = new User();
+        user.setFullName("Retention Resident");
+        user.setEmail("retention@tangle.test");
+        user.setPassword("password");
+        user.setCommunity(community);
+        token = jwtService.generateToken(userRepository.save(user));
+    }
+
+    @Test
+    void tokenOlderThanRetentionGetsResync() throws Exception {
+        insertChange(100, LocalDateTime.now().minusDays(90));
+        insertChange(101, LocalDateTime.now().minusDays(60));
+        insertChange(102, LocalDateTime.now().minusMinutes(1));
+
+        syncService.purgeChangeLog();
+
+        mockMvc.perform(get("/sync").param("since", "99").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resync").value(true))
+                .andExpect(jsonPath("$.posts.length()").value(0))
+                .andExpect(jsonPath("$.nextToken").value("102"));
+
+        mockMvc.perform(get("/sync").param("since", "101").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resync").value(false))
+                .andExpect(jsonPath("$.tombstones.length()").value(1))
+                .andExpect(jsonPath("$.nextToken").value("102"));
+    }
+
+    private void insertChange(long id, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO change_log (id, entity_type, entity_id, community_id, operation, created_at) "
+                + "VALUES (?, 'POST', ?, ?, 'DELETE', ?)", id, id, communityId, createdAt);
+    }
+}
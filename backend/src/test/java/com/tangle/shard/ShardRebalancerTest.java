@@ -0,0 +1,284 @@
+package com.tangle.shard;
+
+import com.tangle.entity.ChangeOperation;
+import com.tangle.entity.ChangeType;
+import com.tangle.entity.Comment;
+import com.tangle.entity.Community;
+import com.tangle.entity.Post;
+import com.tangle.entity.PostCategory;
+import com.tangle.entity.PostType;
+import com.tangle.entity.User;
+import com.tangle.repository.CommentRepository;
+import com.tangle.repository.CommunityRepository;
+import com.tangle.repository.PostRepository;
+import com.tangle.repository.UserRepository;
+import com.tangle.service.ArchiveService;
+import com.tangle.service.JwtService;
+import com.tangle.service.SyncService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs two H2 databases in MySQL mode as shard0 and shard1: requests are routed by
+ * the caller's community, a move copies the community in batches and switches it
+ * over without invalidating sync tokens, and a frozen community turns away request
+ * and background writes alike.
+ */
+@SpringBootTest(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.refresh-ms=100",
+        "app.sharding.rebalance-batch-size=2",
+        "app.sharding.shards.shard1.url=jdbc:h2:mem:tangle-shard1-${random.uuid};MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards.shard1.username=sa",
+        "app.sharding.shards.shard1.password=",
+        "app.sharding.shards.shard1.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ShardRebalancerTest {
+
+    private static final String[] TABLES = {"communities", "users", "posts", "comments"};
+
+    // More than the batch size, so copies and deletes take several batches
+    private static final int POSTS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ShardRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private Seeded homedOnShard1;
+    private Seeded moved;
+    private Seeded frozen;
+    private Seeded synced;
+
+    private record Seeded(Long communityId, String token, List<Long> postIds) {
+    }
+
+    @BeforeAll
+    void seed() {
+        // Ids must be unique across shards; shard1 stands in for a server with its own auto_increment_offset
+        JdbcTemplate shard1 = jdbc("shard1");
+        for (String table : TABLES) {
+            shard1.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH 1000000");
+        }
+
+        homedOnShard1 = ShardContext.callOn("shard1", () -> seedCommunity("Homed on shard1"));
+        shardMap.assign(homedOnShard1.communityId(), "shard1", false);
+        moved = seedCommunity("Moved");
+        frozen = seedCommunity("Frozen");
+        synced = seedCommunity("Synced");
+    }
+
+    @Test
+    void routesRequestsToTheCommunitysShard() throws Exception {
+        Long postId = homedOnShard1.postIds().get(0);
+        assertThat(ShardContext.callOn("shard1", () -> postRepository.findById(postId))).isPresent();
+        assertThat(ShardContext.callOn("shard0", () -> postRepository.findById(postId))).isEmpty();
+
+        mockMvc.perform(get("/posts").param("size", "20")
+                        .header("Authorization", "Bearer " + homedOnShard1.token()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(POSTS))
+                .andExpect(jsonPath("$.content[0].communityId").value(homedOnShard1.communityId()));
+    }
+
+    @Test
+    void moveCopiesEveryRowAndSwitchesOver() throws Exception {
+        Long communityId = moved.communityId();
+        int[] source = counts("shard0", communityId);
+
+        shardRebalancer.startMove(communityId, "shard1");
+        String result = awaitMove(communityId);
+
+        assertThat(result).isEqualTo("DONE shard0 -> shard1");
+        assertThat(counts("shard1", communityId)).containsExactly(source);
+        assertThat(counts("shard0", communityId)).containsOnly(0);
+        assertThat(shardMap.shardFor(communityId)).isEqualTo("shard1");
+        assertThat(shardMap.isReadOnly(communityId)).isFalse();
+
+        mockMvc.perform(get("/posts").param("size", "20")
+                        .header("Authorization", "Bearer " + moved.token()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(POSTS));
+    }
+
+    @Test
+    void frozenCommunityTurnsAwayRequestAndBackgroundWrites() throws Exception {
+        Long communityId = frozen.communityId();
+        Long oldPostId = frozen.postIds().get(0);
+        jdbc("shard0").update("UPDATE posts SET created_at = ? WHERE id = ?", LocalDateTime.now().minusYears(1), oldPostId);
+
+        shardMap.assign(communityId, "shard0", true);
+        try {
+            mockMvc.perform(post("/posts")
+                            .header("Authorization", "Bearer " + frozen.token())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"During the move\",\"description\":\"Should be turned away\","
+                                    + "\"category\":\"BUY_SELL\",\"type\":\"OFFER\"}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists("Retry-After"));
+
+            int changes = countChanges(communityId);
+            RuntimeException failure = assertThrows(RuntimeException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                    syncService.recordChange(ChangeType.POST, oldPostId, communityId, null, ChangeOperation.DELETE)));
+            assertThat(failure).hasMessageContaining("is being moved");
+            assertThat(countChanges(communityId)).isEqualTo(changes);
+
+            archiveService.archiveOldPosts();
+            assertThat(postRepository.existsById(oldPostId)).isTrue();
+        } finally {
+            shardMap.assign(communityId, "shard0", false);
+        }
+
+        archiveService.archiveOldPosts();
+        assertThat(postRepository.existsById(oldPostId)).isFalse();
+    }
+
+    @Test
+    void syncTokensFromTheSourceStayValidAfterAMove() throws Exception {
+        // A busy source shard: its change_log ids run well ahead of the target's
+        JdbcTemplate shard0 = jdbc("shard0");
+        shard0.update("INSERT INTO change_log (id, entity_type, entity_id, community_id, operation, created_at) "
+                + "VALUES (500000, 'POST', ?, ?, 'UPSERT', ?)", frozen.postIds().get(1), frozen.communityId(),
+                LocalDateTime.now().minusMinutes(1));
+        String token = String.valueOf(shard0.queryForObject("SELECT MAX(id) FROM change_log", Long.class));
+
+        shardRebalancer.startMove(synced.communityId(), "shard1");
+        assertThat(awaitMove(synced.communityId())).isEqualTo("DONE shard0 -> shard1");
+
+        mockMvc.perform(post("/posts")
+                        .header("Authorization", "Bearer " + synced.token())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"After the move\",\"description\":\"Written on the new shard\","
+                                + "\"category\":\"BUY_SELL\",\"type\":\"OFFER\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/sync").param("since", token)
+                        .header("Authorization", "Bearer " + synced.token()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(1))
+                .andExpect(jsonPath("$.posts[0].title").value("After the move"));
+    }
+
+    // Runs on whichever shard the caller routes to
+    private Seeded seedCommunity(String name) {
+        Community community = new Community();
+        community.setName(name);
+        community.setCity("Chennai");
+        community = communityRepository.save(community);
+
+        User user = new User();
+        user.setFullName(name + " Resident");
+        user.setEmail(name.toLowerCase().replace(' ', '-') + "@tangle.test");
+        user.setPassword("password");
+        user.setCommunity(community);
+        user = userRepository.save(user);
+
+        List<Long> postIds = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            Post post = new Post();
+            post.setTitle(name + " post " + i);
+            post.setDescription("Seeded for the shard rebalancing test");
+            post.setCategory(PostCategory.BUY_SELL);
+            post.setType(PostType.OFFER);
+            post.setUser(user);
+            post.setCommunity(community);
+            post = postRepository.save(post);
+            postIds.add(post.getId());
+
+            Comment comment = new Comment();
+            comment.setContent("Comment on " + post.getTitle());
+            comment.setUser(user);
+            comment.setPost(post);
+            commentRepository.save(comment);
+        }
+        return new Seeded(community.getId(), jwtService.generateToken(user), postIds);
+    }
+
+    private String awaitMove(Long communityId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            String status = shardRebalancer.getStatus().get(communityId);
+            if (status.startsWith("DONE") || status.startsWith("FAILED")) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Move of community " + communityId + " did not finish: " + shardRebalancer.getStatus());
+    }
+
+    // Rows of the community per table, in TABLES order
+    private int[] counts(String shard, Long communityId) {
+        JdbcTemplate jdbc = jdbc(shard);
+        return new int[] {
+                jdbc.queryForObject("SELECT COUNT(*) FROM communities WHERE id = ?", Integer.class, communityId),
+                jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE community_id = ?", Integer.class, communityId),
+                jdbc.queryForObject("SELECT COUNT(*) FROM posts WHERE community_id = ?", Integer.class, communityId),
+                jdbc.queryForObject("SELECT COUNT(*) FROM comments WHERE post_id IN (SELECT id FROM posts WHERE community_id = ?)",
+                        Integer.class, communityId)
+        };
+    }
+
+    private int countChanges(Long communityId) {
+        return jdbc(shardMap.shardFor(communityId))
+                .queryForObject("SELECT COUNT(*) FROM change_log WHERE community_id = ?", Integer.class, communityId);
+    }
+
+    private JdbcTemplate jdbc(String shard) {
+        return new JdbcTemplate(routingDataSource.getShard(shard));
+    }
+}
@@ -0,0 +1,27 @@
+-- Converts posts.images to a JSON array of strings, as the application now maps it.
+-- Rows written as comma-separated image ids (a VARCHAR or TEXT column) become arrays
+-- of those ids; rows that already hold a JSON array, such as image URLs from before
+-- uploads, are kept as they are. Safe to run more than once.
+-- Run it with the application stopped:
+--   mysql -u tangle_user -p tangle_db < migrate_post_images.sql
+
+USE tangle_db;
+
+UPDATE posts SET images = NULL WHERE TRIM(images) = '';
+
+UPDATE posts
+SET images = CONCAT('["', REPLACE(REPLACE(TRIM(images), ' ', ''), ',', '","'), '"]')
+WHERE images IS NOT NULL AND LEFT(TRIM(images), 1) <> '[';
+
+ALTER TABLE posts MODIFY images JSON;
+
+-- Archived posts keep the format they were copied with. Skip this part if
+-- posts_archive does not exist yet: the application creates it with a JSON column.
+
+UPDATE posts_archive SET images = NULL WHERE TRIM(images) = '';
+
+UPDATE posts_archive
+SET images = CONCAT('["', REPLACE(REPLACE(TRIM(images), ' ', ''), ',', '","'), '"]')
+WHERE images IS NOT NULL AND LEFT(TRIM(images), 1) <> '[';
+
+ALTER TABLE posts_archive MODIFY images JSON;
@@ -59,7 +59,7 @@ CREATE TABLE posts (
     contact_info TEXT,
     price DECIMAL(10,2),
     location VARCHAR(255),
-    images TEXT,
+    images JSON,
     is_urgent BOOLEAN DEFAULT FALSE,
     is_featured BOOLEAN DEFAULT FALSE,
     is_active BOOLEAN DEFAULT TRUE,
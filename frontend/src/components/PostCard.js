@@ -1,6 +1,7 @@
 import React from 'react';
 import { Link } from 'react-router-dom';
 import { useAuth } from '../contexts/AuthContext';
+import { imageUrl } from '../utils/images';
 
 const PostCard = ({ post, onDelete }) => {
   const { user } = useAuth();
@@ -87,7 +88,8 @@ const PostCard = ({ post, onDelete }) => {
             {post.images.map((image, index) => (
               <img 
                 key={index} 
-                src={image} 
+                src={imageUrl(image, 'thumb')} 
+                loading="lazy"
                 alt={`Post image ${index + 1}`}
                 className="post-image"
               />
@@ -122,7 +124,7 @@ const PostCard = ({ post, onDelete }) => {
             👁️ {post.viewCount || 0} views
           </span>
           <span className="stat">
-            💬 {post.comments?.length || 0} comments
+            💬 {post.commentCount || 0} comments
           </span>
         </div>
         
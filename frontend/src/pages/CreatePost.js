@@ -2,6 +2,7 @@ import React, { useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { useAuth } from '../contexts/AuthContext';
 import axios from 'axios';
+import { imageUrl } from '../utils/images';
 
 const CreatePost = () => {
   const { user } = useAuth();
@@ -9,6 +10,7 @@ const CreatePost = () => {
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
   const [success, setSuccess] = useState('');
+  const [uploading, setUploading] = useState(false);
 
   const [formData, setFormData] = useState({
     title: '',
@@ -18,7 +20,7 @@ const CreatePost = () => {
     contactInfo: '',
     price: '',
     location: '',
-    images: '',
+    imageIds: [],
     isUrgent: false,
     isFeatured: false
   });
@@ -52,6 +54,41 @@ const CreatePost = () => {
     setSuccess('');
   };
 
+  const handleImageUpload = async (e) => {
+    const files = Array.from(e.target.files);
+    if (files.length === 0) {
+      return;
+    }
+    setUploading(true);
+    setError('');
+    try {
+      const ids = [];
+      for (const file of files) {
+        const data = new FormData();
+        data.append('file', file);
+        const response = await axios.post('/api/images', data);
+        ids.push(response.data.id);
+      }
+      setFormData(prev => ({
+        ...prev,
+        imageIds: [...prev.imageIds, ...ids.filter(id => !prev.imageIds.includes(id))]
+      }));
+    } catch (error) {
+      console.error('Error uploading image:', error);
+      setError(error.response?.data?.error || 'Failed to upload image');
+    } finally {
+      setUploading(false);
+      e.target.value = '';
+    }
+  };
+
+  const removeImage = (id) => {
+    setFormData(prev => ({
+      ...prev,
+      imageIds: prev.imageIds.filter(imageId => imageId !== id)
+    }));
+  };
+
   const validateForm = () => {
     if (!formData.title.trim()) {
       setError('Title is required');
@@ -287,24 +324,38 @@ const CreatePost = () => {
             />
           </div>
 
-          {/* Image URLs */}
+          {/* Images */}
           <div className="form-group">
             <label htmlFor="images" className="form-label">
-              Image URLs (Optional)
+              Photos (Optional)
             </label>
             <input
-              type="text"
+              type="file"
               id="images"
               name="images"
               className="form-input"
-              value={formData.images}
-              onChange={handleChange}
-              placeholder="Enter image URLs separated by commas"
-              disabled={loading}
+              accept="image/jpeg,image/png,image/gif"
+              multiple
+              onChange={handleImageUpload}
+              disabled={loading || uploading}
             />
             <div style={{ fontSize: '0.8rem', color: 'var(--text-secondary)', marginTop: '5px' }}>
-              Add image URLs separated by commas for multiple images
+              {uploading ? 'Uploading...' : 'JPEG, PNG or GIF, up to 10 MB each'}
             </div>
+            {formData.imageIds.length > 0 && (
+              <div style={{ display: 'flex', gap: '10px', flexWrap: 'wrap', marginTop: '10px' }}>
+                {formData.imageIds.map(id => (
+                  <img
+                    key={id}
+                    src={imageUrl(id, 'thumb')}
+                    alt="Uploaded"
+                    title="Click to remove"
+                    onClick={() => removeImage(id)}
+                    style={{ width: '80px', height: '80px', objectFit: 'cover', cursor: 'pointer', borderRadius: 'var(--border-radius-sm)' }}
+                  />
+                ))}
+              </div>
+            )}
           </div>
 
           {/* Options */}
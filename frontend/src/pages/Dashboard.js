@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
 import { useAuth } from '../contexts/AuthContext';
 import axios from 'axios';
+import { imageUrl } from '../utils/images';
 
 const Dashboard = () => {
   const { user } = useAuth();
@@ -187,9 +188,9 @@ const Dashboard = () => {
         <div className="posts-grid">
           {posts.map((post) => (
             <div key={post.id} className="post-card">
-              {post.images && (
+              {post.images && post.images.length > 0 && (
                 <img 
-                  src={post.images.split(',')[0]} 
+                  src={imageUrl(post.images[0], 'thumb')} 
                   alt={post.title}
                   className="post-image"
                   onError={(e) => {
@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { useParams, useNavigate, Link } from 'react-router-dom';
 import { useAuth } from '../contexts/AuthContext';
 import axios from 'axios';
+import { imageUrl } from '../utils/images';
 
 const PostDetail = () => {
   const { id } = useParams();
@@ -210,13 +211,13 @@ const PostDetail = () => {
         </div>
 
         {/* Images */}
-        {post.images && (
+        {post.images && post.images.length > 0 && (
           <div style={{ marginBottom: '20px' }}>
             <div style={{ display: 'flex', gap: '10px', overflowX: 'auto', paddingBottom: '10px' }}>
-              {post.images.split(',').map((image, index) => (
+              {post.images.map((image, index) => (
                 <img
                   key={index}
-                  src={image.trim()}
+                  src={imageUrl(image, 'medium')}
                   alt={`Post image ${index + 1}`}
                   style={{
                     width: '200px',
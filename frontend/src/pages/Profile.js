@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { useAuth } from '../contexts/AuthContext';
 import axios from 'axios';
+import { imageUrl } from '../utils/images';
 
 const Profile = () => {
   const { user, updateProfile } = useAuth();
@@ -364,9 +365,9 @@ const Profile = () => {
           <div className="posts-grid">
             {myPosts.map((post) => (
               <div key={post.id} className="post-card">
-                {post.images && (
+                {post.images && post.images.length > 0 && (
                   <img 
-                    src={post.images.split(',')[0]} 
+                    src={imageUrl(post.images[0], 'thumb')} 
                     alt={post.title}
                     className="post-image"
                     onError={(e) => {
@@ -0,0 +1,3 @@
+// Posts reference stored images by id; variant is 'thumb', 'medium' or 'original'.
+// Posts from before uploads list image URLs, which are used as they are.
+export const imageUrl = (id, variant) => (/^(https?:)?\//.test(id) ? id : `/api/images/${id}/${variant}`);